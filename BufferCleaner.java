@@ -0,0 +1,57 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+/**
+ * Releases the native memory behind direct and memory-mapped {@code ByteBuffer}s without waiting
+ * for the garbage collector. Shared by {@link OffHeapDynamicArray} and {@link MappedDynamicArray}.
+ * <p>
+ * Uses {@code sun.misc.Unsafe.invokeCleaner} through reflection. On a JVM where that isn't
+ * available, {@link #free(ByteBuffer)} does nothing and the memory is released once the buffer
+ * is garbage collected.
+ *
+ * @author Taskin Saadman
+ */
+final class BufferCleaner {
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;      //not available on this JVM, fall back to the garbage collector
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+
+    private BufferCleaner() {
+    }
+
+
+    /**
+     * Releases the native memory of a direct or mapped buffer right away, when the JVM allows it.
+     * Otherwise the memory is released once the buffer is garbage collected.
+     * The buffer must not be used afterwards.
+     *
+     * @param buffer a direct buffer that isn't a slice or duplicate
+     */
+    static void free(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || INVOKE_CLEANER == null) return;
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            //leave it to the garbage collector
+        }
+    }
+
+}
@@ -0,0 +1,495 @@
+import java.util.HashMap;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+/**
+ * A table of records stored column by column ("struct of arrays"). Every field is kept in its own
+ * {@link IntDynamicArray}, {@link LongDynamicArray} or {@link DoubleDynamicArray}, and row {@code i}
+ * is index {@code i} of every column.
+ * <p>
+ * Compared to a {@code DynamicArray} of record objects, scanning one field reads a single contiguous
+ * primitive array instead of following a pointer per record. The aggregate methods ({@code sum},
+ * {@code min}, {@code max}) are plain counted loops over that array, which the JIT can unroll and
+ * vectorize. {@code filter} returns the matching row indexes, which can be used to read other columns.
+ * <p>
+ * Columns are referred to by the index returned when they were added; {@link #column(String)}
+ * looks one up by name. Using a column with the accessor of another type throws
+ * {@code IllegalArgumentException}.
+ *
+ * @author Taskin Saadman
+ * @see IntDynamicArray
+ */
+public class ColumnStore {
+
+    private final DynamicArray<Object> columns = new DynamicArray<Object>();   //Int/Long/DoubleDynamicArray per field
+    private final DynamicArray<String> names = new DynamicArray<String>();
+    private final HashMap<String, Integer> indexByName = new HashMap<String, Integer>();
+    private int rows;     //no. of rows, equal to the size of every column
+
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the no. of rows
+     */
+    public int size() {
+        return rows;
+    }
+
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return the no. of columns
+     */
+    public int columnCount() {
+        return columns.size();
+    }
+
+
+    /**
+     * Returns the index of the column called {@code name}.
+     *
+     * @param name the column name
+     * @return the column index
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public int column(String name) {
+        Integer index = indexByName.get(name);
+        if (index == null) throw new IllegalArgumentException("No column named " + name);
+        return index;
+    }
+
+
+    /**
+     * Returns the name of a column.
+     *
+     * @param column the column index
+     * @return the column name
+     */
+    public String columnName(int column) {
+        return names.get(column);
+    }
+
+
+    /**
+     * Adds an {@code int} column. Existing rows get 0 in the new column.
+     *
+     * @param name the column name
+     * @return the column index
+     * @throws IllegalArgumentException if a column with this name already exists
+     */
+    public int addIntColumn(String name) {
+        IntDynamicArray column = new IntDynamicArray(rows);
+        for (int i = 0; i < rows; i++) column.add(0);
+        return addColumn(name, column);
+    }
+
+
+    /**
+     * Adds a {@code long} column. Existing rows get 0 in the new column.
+     *
+     * @param name the column name
+     * @return the column index
+     * @throws IllegalArgumentException if a column with this name already exists
+     */
+    public int addLongColumn(String name) {
+        LongDynamicArray column = new LongDynamicArray(rows);
+        for (int i = 0; i < rows; i++) column.add(0);
+        return addColumn(name, column);
+    }
+
+
+    /**
+     * Adds a {@code double} column. Existing rows get 0 in the new column.
+     *
+     * @param name the column name
+     * @return the column index
+     * @throws IllegalArgumentException if a column with this name already exists
+     */
+    public int addDoubleColumn(String name) {
+        DoubleDynamicArray column = new DoubleDynamicArray(rows);
+        for (int i = 0; i < rows; i++) column.add(0);
+        return addColumn(name, column);
+    }
+
+
+    /**
+     * Appends a row with every field set to 0 and returns its index.
+     * Fill it in with the {@code set} methods.
+     *
+     * @return the index of the new row
+     */
+    public int addRow() {
+        for (int c = 0; c < columns.size(); c++) {
+            Object column = columns.get(c);
+            if (column instanceof IntDynamicArray) ((IntDynamicArray) column).add(0);
+            else if (column instanceof LongDynamicArray) ((LongDynamicArray) column).add(0);
+            else ((DoubleDynamicArray) column).add(0);
+        }
+        return rows++;
+    }
+
+
+    /**
+     * Grows every column so the store can hold at least {@code capacity} rows without copying.
+     *
+     * @param capacity the required no. of rows
+     */
+    public void ensureCapacity(int capacity) {
+        for (int c = 0; c < columns.size(); c++) {
+            Object column = columns.get(c);
+            if (column instanceof IntDynamicArray) ((IntDynamicArray) column).ensureCapacity(capacity);
+            else if (column instanceof LongDynamicArray) ((LongDynamicArray) column).ensureCapacity(capacity);
+            else ((DoubleDynamicArray) column).ensureCapacity(capacity);
+        }
+    }
+
+
+    /**
+     * Reads an {@code int} field.
+     * @param row the row index
+     * @param column the column index
+     * @return the field value
+     * @throws IndexOutOfBoundsException if the row is out of bounds
+     */
+    public int getInt(int row, int column) {
+        return intColumn(column).get(row);
+    }
+
+    /**
+     * Writes an {@code int} field.
+     * @param row the row index
+     * @param column the column index
+     * @param value the new field value
+     * @throws IndexOutOfBoundsException if the row is out of bounds
+     */
+    public void setInt(int row, int column, int value) {
+        intColumn(column).set(row, value);
+    }
+
+    /**
+     * Reads a {@code long} field.
+     * @param row the row index
+     * @param column the column index
+     * @return the field value
+     * @throws IndexOutOfBoundsException if the row is out of bounds
+     */
+    public long getLong(int row, int column) {
+        return longColumn(column).get(row);
+    }
+
+    /**
+     * Writes a {@code long} field.
+     * @param row the row index
+     * @param column the column index
+     * @param value the new field value
+     * @throws IndexOutOfBoundsException if the row is out of bounds
+     */
+    public void setLong(int row, int column, long value) {
+        longColumn(column).set(row, value);
+    }
+
+    /**
+     * Reads a {@code double} field.
+     * @param row the row index
+     * @param column the column index
+     * @return the field value
+     * @throws IndexOutOfBoundsException if the row is out of bounds
+     */
+    public double getDouble(int row, int column) {
+        return doubleColumn(column).get(row);
+    }
+
+    /**
+     * Writes a {@code double} field.
+     * @param row the row index
+     * @param column the column index
+     * @param value the new field value
+     * @throws IndexOutOfBoundsException if the row is out of bounds
+     */
+    public void setDouble(int row, int column, double value) {
+        doubleColumn(column).set(row, value);
+    }
+
+
+    /**
+     * Returns the storage of an {@code int} column for custom scans. Only indices {@code 0} to
+     * {@code size() - 1} are meaningful, and the reference is replaced when the store grows, so
+     * don't hold on to it across {@code addRow()}.
+     * @param column the column index
+     * @return the column's backing array
+     */
+    public int[] intValues(int column) {
+        return intColumn(column).backingArray();
+    }
+
+    /**
+     * Returns the storage of a {@code long} column for custom scans. See {@link #intValues(int)}.
+     * @param column the column index
+     * @return the column's backing array
+     */
+    public long[] longValues(int column) {
+        return longColumn(column).backingArray();
+    }
+
+    /**
+     * Returns the storage of a {@code double} column for custom scans. See {@link #intValues(int)}.
+     * @param column the column index
+     * @return the column's backing array
+     */
+    public double[] doubleValues(int column) {
+        return doubleColumn(column).backingArray();
+    }
+
+
+    /**
+     * Sums an {@code int} column.
+     * @param column the column index
+     * @return the sum, as a {@code long} so it doesn't overflow
+     */
+    public long sumInt(int column) {
+        int[] values = intValues(column);
+        long sum = 0;
+        for (int i = 0; i < rows; i++) sum += values[i];
+        return sum;
+    }
+
+    /**
+     * Returns the lowest value of an {@code int} column.
+     * @param column the column index
+     * @return the minimum
+     * @throws RuntimeException if the store is empty
+     */
+    public int minInt(int column) {
+        int[] values = intValues(column);
+        checkNotEmpty();
+        int min = values[0];
+        for (int i = 1; i < rows; i++) min = Math.min(min, values[i]);
+        return min;
+    }
+
+    /**
+     * Returns the highest value of an {@code int} column.
+     * @param column the column index
+     * @return the maximum
+     * @throws RuntimeException if the store is empty
+     */
+    public int maxInt(int column) {
+        int[] values = intValues(column);
+        checkNotEmpty();
+        int max = values[0];
+        for (int i = 1; i < rows; i++) max = Math.max(max, values[i]);
+        return max;
+    }
+
+    /**
+     * Sums a {@code long} column.
+     * @param column the column index
+     * @return the sum
+     */
+    public long sumLong(int column) {
+        long[] values = longValues(column);
+        long sum = 0;
+        for (int i = 0; i < rows; i++) sum += values[i];
+        return sum;
+    }
+
+    /**
+     * Returns the lowest value of a {@code long} column.
+     * @param column the column index
+     * @return the minimum
+     * @throws RuntimeException if the store is empty
+     */
+    public long minLong(int column) {
+        long[] values = longValues(column);
+        checkNotEmpty();
+        long min = values[0];
+        for (int i = 1; i < rows; i++) min = Math.min(min, values[i]);
+        return min;
+    }
+
+    /**
+     * Returns the highest value of a {@code long} column.
+     * @param column the column index
+     * @return the maximum
+     * @throws RuntimeException if the store is empty
+     */
+    public long maxLong(int column) {
+        long[] values = longValues(column);
+        checkNotEmpty();
+        long max = values[0];
+        for (int i = 1; i < rows; i++) max = Math.max(max, values[i]);
+        return max;
+    }
+
+    /**
+     * Sums a {@code double} column. Four partial sums are kept so the additions don't form one
+     * long dependency chain; the result can therefore differ from a sequential sum in the last bits.
+     * @param column the column index
+     * @return the sum
+     */
+    public double sumDouble(int column) {
+        double[] values = doubleValues(column);
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < rows; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < rows; i++) s0 += values[i];   //leftover tail
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the lowest value of a {@code double} column, following {@code Math.min} for NaN.
+     * @param column the column index
+     * @return the minimum
+     * @throws RuntimeException if the store is empty
+     */
+    public double minDouble(int column) {
+        double[] values = doubleValues(column);
+        checkNotEmpty();
+        double min = values[0];
+        for (int i = 1; i < rows; i++) min = Math.min(min, values[i]);
+        return min;
+    }
+
+    /**
+     * Returns the highest value of a {@code double} column, following {@code Math.max} for NaN.
+     * @param column the column index
+     * @return the maximum
+     * @throws RuntimeException if the store is empty
+     */
+    public double maxDouble(int column) {
+        double[] values = doubleValues(column);
+        checkNotEmpty();
+        double max = values[0];
+        for (int i = 1; i < rows; i++) max = Math.max(max, values[i]);
+        return max;
+    }
+
+
+    /**
+     * Returns the indexes of the rows whose {@code int} field matches {@code filter}, in row order.
+     * @param column the column index
+     * @param filter the condition
+     * @return the matching row indexes
+     */
+    public IntDynamicArray filterInt(int column, IntPredicate filter) {
+        int[] values = intValues(column);
+        IntDynamicArray matches = new IntDynamicArray();
+        for (int i = 0; i < rows; i++) {
+            if (filter.test(values[i])) matches.add(i);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the indexes of the rows whose {@code long} field matches {@code filter}, in row order.
+     * @param column the column index
+     * @param filter the condition
+     * @return the matching row indexes
+     */
+    public IntDynamicArray filterLong(int column, LongPredicate filter) {
+        long[] values = longValues(column);
+        IntDynamicArray matches = new IntDynamicArray();
+        for (int i = 0; i < rows; i++) {
+            if (filter.test(values[i])) matches.add(i);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the indexes of the rows whose {@code double} field matches {@code filter}, in row order.
+     * @param column the column index
+     * @param filter the condition
+     * @return the matching row indexes
+     */
+    public IntDynamicArray filterDouble(int column, DoublePredicate filter) {
+        double[] values = doubleValues(column);
+        IntDynamicArray matches = new IntDynamicArray();
+        for (int i = 0; i < rows; i++) {
+            if (filter.test(values[i])) matches.add(i);
+        }
+        return matches;
+    }
+
+
+    /**
+     * Removes every row. The columns and their capacity are kept.
+     */
+    public void clear() {
+        for (int c = 0; c < columns.size(); c++) {
+            Object column = columns.get(c);
+            if (column instanceof IntDynamicArray) ((IntDynamicArray) column).clear();
+            else if (column instanceof LongDynamicArray) ((LongDynamicArray) column).clear();
+            else ((DoubleDynamicArray) column).clear();
+        }
+        rows = 0;
+    }
+
+
+    /**
+     * Registers a new column under {@code name}.
+     * @param name the column name
+     * @param column the column storage, already holding {@code rows} values
+     * @return the column index
+     */
+    private int addColumn(String name, Object column) {
+        if (indexByName.containsKey(name)) throw new IllegalArgumentException("Column " + name + " already exists");
+        indexByName.put(name, columns.size());
+        names.add(name);
+        columns.add(column);
+        return columns.size() - 1;
+    }
+
+
+    /**
+     * Returns column {@code column} as an {@code int} column.
+     * @param column the column index
+     * @return the column storage
+     * @throws IllegalArgumentException if the column holds another type
+     */
+    private IntDynamicArray intColumn(int column) {
+        Object storage = columns.get(column);
+        if (!(storage instanceof IntDynamicArray)) throw new IllegalArgumentException("Column " + names.get(column) + " is not an int column");
+        return (IntDynamicArray) storage;
+    }
+
+    /**
+     * Returns column {@code column} as a {@code long} column.
+     * @param column the column index
+     * @return the column storage
+     * @throws IllegalArgumentException if the column holds another type
+     */
+    private LongDynamicArray longColumn(int column) {
+        Object storage = columns.get(column);
+        if (!(storage instanceof LongDynamicArray)) throw new IllegalArgumentException("Column " + names.get(column) + " is not a long column");
+        return (LongDynamicArray) storage;
+    }
+
+    /**
+     * Returns column {@code column} as a {@code double} column.
+     * @param column the column index
+     * @return the column storage
+     * @throws IllegalArgumentException if the column holds another type
+     */
+    private DoubleDynamicArray doubleColumn(int column) {
+        Object storage = columns.get(column);
+        if (!(storage instanceof DoubleDynamicArray)) throw new IllegalArgumentException("Column " + names.get(column) + " is not a double column");
+        return (DoubleDynamicArray) storage;
+    }
+
+
+    /**
+     * Throws if there are no rows to aggregate.
+     * @throws RuntimeException if the store is empty
+     */
+    private void checkNotEmpty() {
+        if (rows == 0) throw new RuntimeException("Column store is empty!");
+    }
+
+}
@@ -0,0 +1,224 @@
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+/**
+ * A thread-safe priority queue that splits the elements across several independently locked
+ * {@link Heap} stripes (a "MultiQueue"), so concurrent callers mostly take different locks.
+ * <ul>
+ *   <li>{@code insert} puts the element into a random stripe whose lock is free.</li>
+ *   <li>{@code pollRelaxed} samples two random stripes, compares their cached roots without locking,
+ *       and polls the lower one. The result is close to, but not always, the global minimum;
+ *       in exchange threads rarely contend. Good for schedulers and work lists.</li>
+ *   <li>{@code poll} is exact: it locks every stripe and pops the lowest root, so it costs about
+ *       as much as a global lock. {@code peek} scans every stripe's cached root without locking.</li>
+ * </ul>
+ * Ordered by a {@code java.util.Comparator}; the lowest element is at the root.
+ * Empty-queue calls return {@code null} instead of throwing, since another thread may refill
+ * the queue at any time. {@code null} elements are not permitted.
+ * @param <T> the type of elements stored in the heap
+ * @author Taskin Saadman
+ * @see Heap
+ * @see ConcurrentQueue
+ */
+public class ConcurrentHeap<T> {
+    private final Stripe<T>[] stripes;
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Constructs an empty heap ordered by natural ordering, with two stripes per available processor.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentHeap() {
+        this((Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Constructs an empty heap ordered by {@code comparator}, with two stripes per available processor.
+     * @param comparator the ordering of the heap
+     */
+    public ConcurrentHeap(Comparator<? super T> comparator) {
+        this(comparator, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an empty heap ordered by {@code comparator} with {@code stripeCount} stripes.
+     * More stripes lower contention but make relaxed polls less exact.
+     * @param comparator the ordering of the heap
+     * @param stripeCount the number of independently locked heaps
+     * @throws IllegalArgumentException if {@code stripeCount} is smaller than 1
+     */
+    public ConcurrentHeap(Comparator<? super T> comparator, int stripeCount) {
+        if (comparator == null) throw new NullPointerException("Comparator can't be null");
+        if (stripeCount < 1) throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        this.comparator = comparator;
+        stripes = newStripeArray(stripeCount);
+        for (int i = 0; i < stripeCount; i++) stripes[i] = new Stripe<T>(comparator);
+    }
+
+    /**
+     * Returns the no. of elements stored in the heap by adding up the stripes' counts.
+     * Each stripe keeps its own count so that insert and poll don't all write one shared counter.
+     * May be stale as soon as it is returned.
+     * @return the size of the heap
+     */
+    public int size() {
+        int total = 0;
+        for (Stripe<T> stripe : stripes) total += stripe.count;
+        return total;
+    }
+
+    /**
+     * Returns a boolean based on whether the heap is empty or not
+     * @return true is heap is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        for (Stripe<T> stripe : stripes) {
+            if (stripe.count != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Inserts a new element into a randomly chosen stripe, skipping stripes whose lock is held.
+     * @param value the value to be inserted into the heap
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public void insert(T value) {
+        if (value == null) throw new NullPointerException("Heap can't contain null elements");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Stripe<T> stripe;
+
+        //try a few random stripes without blocking, then block on the last one
+        int attempts = 0;
+        do {
+            stripe = stripes[random.nextInt(stripes.length)];
+        } while (!stripe.lock.tryLock() && ++attempts < stripes.length);
+        if (attempts == stripes.length) stripe.lock.lock();
+
+        try {
+            stripe.heap.insert(value);
+            stripe.top = stripe.heap.peek();
+            stripe.count++;     //only written under the stripe's lock
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Pops an element that is at or near the root: the lower root of two randomly chosen stripes.
+     * Falls back to an exact {@code poll()} when the sampled stripes are empty.
+     * @return a low element, or {@code null} if the heap is empty
+     */
+    public T pollRelaxed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int attempt = 0; attempt < stripes.length; attempt++) {
+            Stripe<T> a = stripes[random.nextInt(stripes.length)];
+            Stripe<T> b = stripes[random.nextInt(stripes.length)];
+            T topA = a.top, topB = b.top;   //unlocked reads of the cached roots
+
+            Stripe<T> chosen;
+            if (topA == null) chosen = topB == null ? null : b;
+            else if (topB == null) chosen = a;
+            else chosen = comparator.compare(topA, topB) <= 0 ? a : b;
+            if (chosen == null) continue;   //both sampled stripes empty, sample again
+
+            if (!chosen.lock.tryLock()) continue;   //someone else is on it, sample again
+            try {
+                if (chosen.heap.isEmpty()) continue;
+                return pollLocked(chosen);
+            } finally {
+                chosen.lock.unlock();
+            }
+        }
+        return poll();
+    }
+
+    /**
+     * Pops the exact root across all stripes. Locks every stripe for the duration of the call.
+     * @return the lowest element, or {@code null} if the heap is empty
+     */
+    public T poll() {
+        for (Stripe<T> stripe : stripes) stripe.lock.lock();   //fixed order prevents deadlock
+        try {
+            Stripe<T> best = null;
+            for (Stripe<T> stripe : stripes) {
+                if (stripe.heap.isEmpty()) continue;
+                if (best == null || comparator.compare(stripe.heap.peek(), best.heap.peek()) < 0) best = stripe;
+            }
+            return best == null ? null : pollLocked(best);
+        } finally {
+            for (Stripe<T> stripe : stripes) stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the lowest root across all stripes without popping it.
+     * Reads the cached roots without locking, so it may miss concurrent updates.
+     * @return the lowest element, or {@code null} if the heap is empty
+     */
+    public T peek() {
+        T best = null;
+        for (Stripe<T> stripe : stripes) {
+            T top = stripe.top;
+            if (top != null && (best == null || comparator.compare(top, best) < 0)) best = top;
+        }
+        return best;
+    }
+
+    /**
+     * Removes all elements from the heap, making it empty.
+     */
+    public void clear() {
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.heap.clear();
+                stripe.top = null;
+                stripe.count = 0;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Polls {@code stripe}, which must be locked by the caller and non-empty, and refreshes its cached root.
+     * @param stripe the stripe to poll
+     * @return the stripe's root
+     */
+    private T pollLocked(Stripe<T> stripe) {
+        T polled = stripe.heap.poll();
+        stripe.top = stripe.heap.isEmpty() ? null : stripe.heap.peek();
+        stripe.count--;
+        return polled;
+    }
+
+
+    /**
+     * Creates an array of {@code length} empty stripe slots.
+     * @param length the no. of stripes
+     * @return the new array
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Stripe<T>[] newStripeArray(int length) {
+        return (Stripe<T>[]) new Stripe[length];
+    }
+
+
+    /**
+     * One lock-protected heap. {@code top} mirrors the heap's root and {@code count} its size,
+     * so other threads can read them without taking the lock. Both are only written under the lock.
+     */
+    private static final class Stripe<T> {
+        final ReentrantLock lock = new ReentrantLock();
+        final Heap<T> heap;
+        volatile T top;
+        volatile int count;
+
+        Stripe(Comparator<? super T> comparator) {
+            heap = new Heap<T>(comparator);
+        }
+    }
+
+}
@@ -0,0 +1,333 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+/**
+ * A generic thread-safe, non-blocking implementation of the Queue ADT for multiple producers
+ * and multiple consumers. Offers the same {@code enqueue}/{@code dequeue}/{@code peek}/{@code isEmpty}
+ * surface as {@link Queue} so call sites can switch over without changes.
+ * <p>
+ * Two modes are available:
+ * <ul>
+ *   <li>unbounded (no-arg constructor): a CAS-linked Michael-Scott queue</li>
+ *   <li>bounded (capacity constructor): a sequence-numbered circular array where every slot
+ *       carries a sequence counter telling producers and consumers whose turn it is</li>
+ * </ul>
+ * Head and tail counters live in padded objects so producers and consumers don't invalidate
+ * each other's cache lines. {@code null} elements are not permitted.
+ * @author Taskin Saadman
+ * @see Queue
+ */
+public class ConcurrentQueue<T> {
+    private final Engine<T> engine;
+
+    /**
+     * Constructs an empty, unbounded queue.
+     */
+    public ConcurrentQueue() {
+        engine = new LinkedEngine<T>();
+    }
+
+    /**
+     * Constructs an empty queue bounded to {@code capacity} elements.
+     * The capacity is rounded up to the next power of two.
+     *
+     * @param capacity the maximum number of elements
+     * @throws IllegalArgumentException if {@code capacity} is smaller than 1
+     */
+    public ConcurrentQueue(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        engine = new ArrayEngine<T>(capacity);
+    }
+
+    /**
+     * Inserts an element at the rear of the queue if possible. Never blocks.
+     *
+     * @param value the element to be added
+     * @return {@code true} if added; {@code false} if a bounded queue is full
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public boolean offer(T value) {
+        if (value == null) throw new NullPointerException("Queue can't contain null elements");
+        return engine.offer(value);
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue. Never blocks.
+     *
+     * @return the element at the front of the queue, or {@code null} if the queue is empty
+     */
+    public T poll() {
+        return engine.poll();
+    }
+
+    /**
+     * Adds an element to the rear of the queue.
+     *
+     * @param value the element to be added to the queue
+     * @throws RuntimeException if a bounded queue is full
+     */
+    public void enqueue(T value) throws RuntimeException {
+        if (!offer(value)) throw new RuntimeException("Queue is full!");
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     *
+     * @return the element at the front of the queue
+     * @throws RuntimeException if the queue is empty
+     */
+    public T dequeue() throws RuntimeException {
+        T retVal = engine.poll();
+        if (retVal == null) throw new RuntimeException("Queue is empty!");
+        return retVal;
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it.
+     *
+     * @return the element at the front of the queue
+     * @throws RuntimeException if the queue is empty
+     */
+    public T peek() throws RuntimeException {
+        T retVal = engine.peek();
+        if (retVal == null) throw new RuntimeException("Queue is empty!");
+        return retVal;
+    }
+
+    /**
+     * Tests if the queue is empty. The answer may be stale as soon as it is returned.
+     *
+     * @return {@code true} if the queue contains no elements; {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return engine.peek() == null;
+    }
+
+    /**
+     * Returns an estimate of the number of elements in the queue.
+     *
+     * @return size
+     */
+    public int size() {
+        return engine.size();
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     *
+     * @return the capacity, or {@code Integer.MAX_VALUE} for an unbounded queue
+     */
+    public int capacity() {
+        return engine.capacity();
+    }
+
+
+    /**
+     * Common operations implemented by both queue modes.
+     */
+    private static abstract class Engine<T> {
+        abstract boolean offer(T value);
+        abstract T poll();
+        abstract T peek();
+        abstract int size();
+        abstract int capacity();
+    }
+
+
+    /**
+     * Unbounded Michael-Scott queue. {@code head} always points to a dummy node whose
+     * successor holds the front element.
+     */
+    private static final class LinkedEngine<T> extends Engine<T> {
+        private final PaddedReference<Node<T>> head;
+        private final PaddedReference<Node<T>> tail;
+        private final PaddedCounter enqueued = new PaddedCounter();
+        private final PaddedCounter dequeued = new PaddedCounter();
+
+        LinkedEngine() {
+            Node<T> dummy = new Node<T>(null);
+            head = new PaddedReference<Node<T>>(dummy);
+            tail = new PaddedReference<Node<T>>(dummy);
+        }
+
+        boolean offer(T value) {
+            Node<T> node = new Node<T>(value);
+            while (true) {
+                Node<T> last = tail.get();
+                Node<T> next = last.next.get();
+                if (last != tail.get()) continue;   //tail moved, re-read
+
+                if (next == null) {
+                    if (last.next.compareAndSet(null, node)) {
+                        tail.compareAndSet(last, node);  //swing tail, fine if another thread beats us
+                        enqueued.getAndIncrement();
+                        return true;
+                    }
+                } else {
+                    tail.compareAndSet(last, next);   //help a lagging producer
+                }
+            }
+        }
+
+        T poll() {
+            while (true) {
+                Node<T> first = head.get();
+                Node<T> last = tail.get();
+                Node<T> next = first.next.get();
+                if (first != head.get()) continue;
+
+                if (next == null) return null;  //empty
+                if (first == last) {
+                    tail.compareAndSet(last, next);   //tail is lagging behind, help it
+                    continue;
+                }
+
+                T value = next.value;
+                if (head.compareAndSet(first, next)) {
+                    next.value = null;   //next becomes the new dummy, drop its reference
+                    first.next.lazySet(first);   //self-link the old dummy so it doesn't retain the chain
+                    dequeued.getAndIncrement();
+                    return value;
+                }
+            }
+        }
+
+        T peek() {
+            while (true) {
+                Node<T> first = head.get();
+                Node<T> next = first.next.get();
+                if (next == null) return null;
+                T value = next.value;
+                if (first == head.get() && value != null) return value;
+            }
+        }
+
+        int size() {
+            long n = enqueued.get() - dequeued.get();
+            return (int) Math.max(0, Math.min(n, Integer.MAX_VALUE));
+        }
+
+        int capacity() {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+
+    /**
+     * An atomic reference padded to a full cache line. Like {@link PaddedCounter}, the padding is
+     * one-sided and only follows the reference.
+     */
+    @SuppressWarnings({"unused", "serial"})
+    private static final class PaddedReference<V> extends AtomicReference<V> {
+        long p1, p2, p3, p4, p5, p6, p7;
+
+        PaddedReference(V initial) {
+            super(initial);
+        }
+    }
+
+
+    /**
+     * Node of the linked engine. {@code value} is only written before the node is published
+     * and cleared once it becomes the dummy head.
+     */
+    private static final class Node<T> {
+        volatile T value;
+        final AtomicReference<Node<T>> next = new AtomicReference<Node<T>>();
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+
+
+    /**
+     * Bounded sequence-numbered ring buffer. Slot {@code i} with sequence {@code s}:
+     * <ul>
+     *   <li>{@code s == pos}: free for the producer claiming position {@code pos}</li>
+     *   <li>{@code s == pos + 1}: filled, ready for the consumer claiming position {@code pos}</li>
+     * </ul>
+     */
+    private static final class ArrayEngine<T> extends Engine<T> {
+        private final AtomicReferenceArray<T> buffer;
+        private final AtomicLongArray sequence;
+        private final int mask;
+        private final PaddedCounter tail = new PaddedCounter();   //next position to produce
+        private final PaddedCounter head = new PaddedCounter();   //next position to consume
+
+        ArrayEngine(int capacity) {
+            int length = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            if (length <= 0) throw new IllegalArgumentException("Capacity too large: " + capacity);
+            buffer = new AtomicReferenceArray<T>(length);
+            sequence = new AtomicLongArray(length);
+            for (int i = 0; i < length; i++) sequence.set(i, i);
+            mask = length - 1;
+        }
+
+        boolean offer(T value) {
+            long pos = tail.get();
+            while (true) {
+                int index = (int) pos & mask;
+                long diff = sequence.get(index) - pos;
+
+                if (diff == 0) {    //slot is free, try to claim it
+                    if (tail.compareAndSet(pos, pos + 1)) {
+                        buffer.lazySet(index, value);
+                        sequence.set(index, pos + 1);   //publish to consumers
+                        return true;
+                    }
+                    pos = tail.get();
+                } else if (diff < 0) {
+                    return false;   //slot still holds an element from the previous lap: full
+                } else {
+                    pos = tail.get();   //another producer claimed it, retry
+                }
+            }
+        }
+
+        T poll() {
+            long pos = head.get();
+            while (true) {
+                int index = (int) pos & mask;
+                long diff = sequence.get(index) - (pos + 1);
+
+                if (diff == 0) {    //slot is filled, try to claim it
+                    if (head.compareAndSet(pos, pos + 1)) {
+                        T value = buffer.get(index);
+                        buffer.lazySet(index, null);
+                        sequence.set(index, pos + mask + 1);   //free the slot for the next lap
+                        return value;
+                    }
+                    pos = head.get();
+                } else if (diff < 0) {
+                    return null;    //empty
+                } else {
+                    pos = head.get();
+                }
+            }
+        }
+
+        T peek() {
+            while (true) {
+                long pos = head.get();
+                int index = (int) pos & mask;
+                if (sequence.get(index) != pos + 1) return null;
+                T value = buffer.get(index);
+                if (value != null && head.get() == pos) return value;
+            }
+        }
+
+        int size() {
+            while (true) {  //read head, tail, head again so the two reads are consistent
+                long before = head.get();
+                long last = tail.get();
+                if (head.get() == before) return (int) Math.max(0, Math.min(last - before, mask + 1));
+            }
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+
+}
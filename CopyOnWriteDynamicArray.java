@@ -0,0 +1,265 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+/**
+ * A thread-safe dynamic array for read-mostly data such as routing or lookup tables.
+ * <p>
+ * Readers never lock: every read is a single volatile load of the current array, which is never
+ * modified after it has been published. Writers take a lock, copy the array, change the copy and
+ * publish it. Each write therefore costs O(n); use {@link #update(Consumer)} or the bulk methods
+ * to apply many changes with one copy and one publication.
+ * <p>
+ * Iterators walk the array that was current when they were created and never throw
+ * {@code ConcurrentModificationException}.
+ *
+ * @param <T> The type of elements stored in the dynamic array
+ * @author Taskin Saadman
+ * @see DynamicArray
+ */
+@SuppressWarnings("unchecked")
+public class CopyOnWriteDynamicArray<T> implements Iterable<T> {
+
+    private volatile T[] array;     //published array, never written after publication
+    private final ReentrantLock writeLock = new ReentrantLock();     //serializes writers only
+
+
+    /**
+     * Creates an empty array.
+     */
+    public CopyOnWriteDynamicArray() {
+        array = (T[]) new Object[0];   //typecasting warning suppressed
+    }
+
+
+    /**
+     * Returns the number of elements currently stored.
+     *
+     * @return the current size of the array
+     */
+    public int size() {
+        return array.length;
+    }
+
+
+    /**
+     * Returns the element in the specified index. Lock-free.
+     *
+     * @param index the specified index
+     * @return element the element at the specified index
+     * @throws IndexOutOfBoundsException
+     */
+    public T get(int index) throws IndexOutOfBoundsException {
+        T[] current = array;
+        if (!(index >= 0 && index < current.length)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+        return current[index];
+    }
+
+
+    /**
+     * Checks whether an element exists inside the array. Lock-free.
+     * @param element element to be found
+     * @return boolean true or false
+     * @throws NullPointerException if {@code null} was passed as argument
+     */
+    public boolean contains(T element) throws NullPointerException {
+        if (element == null) throw new NullPointerException("Dynamic array cannot contain empty reference types!");
+        for (T value : array) {
+            if (value.equals(element)) return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Set an element at a specified index, publishing a new array.
+     *
+     * @param index the specified index
+     * @param element the element to be set
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     */
+    public void set(int index, T element) {
+        if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        writeLock.lock();
+        try {
+            T[] current = array;
+            if (!(index >= 0 && index < current.length)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+            T[] copy = current.clone();
+            copy[index] = element;
+            array = copy;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+
+    /**
+     * Adds an element to the end of the array, publishing a new array.
+     *
+     * @param element The element to add
+     * @throws NullPointerException if {@code null} was passed as element
+     */
+    public void add(T element) {
+        if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        writeLock.lock();
+        try {
+            T[] current = array;
+            T[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = element;
+            array = copy;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+
+    /**
+     * Appends every element of {@code elements} with one copy and one publication.
+     *
+     * @param elements the elements to add
+     * @throws NullPointerException if any element is {@code null}
+     */
+    public void addAll(T[] elements) {
+        for (T element : elements) {
+            if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        }
+        writeLock.lock();
+        try {
+            T[] current = array;
+            T[] copy = Arrays.copyOf(current, current.length + elements.length);
+            System.arraycopy(elements, 0, copy, current.length, elements.length);
+            array = copy;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+
+    /**
+     * Inserts an element to a specified index, shifting the rest to the right, publishing a new array.
+     *
+     * @param index The position where the element should be inserted
+     * @param element The element to add
+     * @throws IndexOutOfBoundsException if index is negative or greater than size
+     * @throws NullPointerException if {@code null} was passed as element
+     */
+    public void insert(int index, T element) {
+        if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        writeLock.lock();
+        try {
+            T[] current = array;
+            if (!(index >= 0 && index <= current.length)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+            T[] copy = (T[]) new Object[current.length + 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            copy[index] = element;
+            System.arraycopy(current, index, copy, index + 1, current.length - index);
+            array = copy;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+
+    /**
+     * Removes element at specified index, publishing a new array.
+     *
+     * @param index index from which element is to be popped
+     * @return element the element which was popped
+     * @throws IndexOutOfBoundsException if out of bounds index was passed
+     */
+    public T pop(int index) throws IndexOutOfBoundsException {
+        writeLock.lock();
+        try {
+            T[] current = array;
+            if (!(index >= 0 && index < current.length)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+            T[] copy = (T[]) new Object[current.length - 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+            array = copy;
+            return current[index];
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+
+    /**
+     * Applies a batch of changes with a single publication.
+     * {@code edits} receives a private {@link DynamicArray} holding a copy of the current elements;
+     * whatever it holds when {@code edits} returns becomes the new contents. Readers see either none
+     * or all of the batch. Other writers wait until the batch is published.
+     * <p>
+     * A batch that leaves the no. of elements unchanged publishes the copy itself, so the elements
+     * are copied once. A batch that changes it may copy them once more, when the copy is grown or
+     * trimmed to the new size.
+     *
+     * @param edits the changes to apply
+     * @throws NullPointerException if the edited array contains {@code null}
+     */
+    public void update(Consumer<DynamicArray<T>> edits) {
+        writeLock.lock();
+        try {
+            T[] current = array;
+            DynamicArray<T> scratch = new DynamicArray<T>(current.length);
+            scratch.addAll(current);
+            edits.accept(scratch);
+
+            T[] copy = scratch.takeArray();   //scratch's own array unless it has spare capacity
+            for (T element : copy) {
+                if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+            }
+            array = copy;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+
+    /**
+     * Removes every element by publishing an empty array.
+     */
+    public void clear() {
+        writeLock.lock();
+        try {
+            array = (T[]) new Object[0];
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+
+    /**
+     * Returns a string representation of the {@code CopyOnWriteDynamicArray} object.
+     * @return String
+     */
+    public String toString() {
+        return Arrays.toString(array);
+    }
+
+
+    /**
+     * Returns an iterator over the array that was current at the time of the call.
+     * Later writes don't affect it.
+     * @return an iterator over elements of type {@code T}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final T[] snapshot = array;
+            private int current = 0;
+
+            public boolean hasNext() {
+                return current < snapshot.length;
+            }
+
+            public T next() {
+                if (current >= snapshot.length) throw new NoSuchElementException();
+                return snapshot[current++];
+            }
+        };
+    }
+
+
+}
@@ -0,0 +1,255 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+/**
+ * A dynamic array of primitive {@code double} values that automatically resizes as elements are added.
+ * Works like {@link DynamicArray} but stores the values directly in a {@code double[]}, so there is
+ * no boxed {@code Double} and no pointer per element.
+ * <p>
+ * Iteration goes through {@link #forEach(DoubleConsumer)} or a {@code PrimitiveIterator.OfDouble}, neither of
+ * which boxes. The class deliberately doesn't implement {@code Iterable<Double>} so that for-each
+ * loops can't box by accident; use {@link #backingArray()} for a plain indexed loop.
+ *
+ * @author Taskin Saadman
+ * @see DynamicArray
+ */
+public class DoubleDynamicArray {
+
+    private double[] array;     //internal static array storing data
+    private int size;     //no. of elements inside
+
+
+    /**
+     * Creates a dynamic array with an initial capacity of 10.
+     */
+    public DoubleDynamicArray() {
+        this(10);
+    }
+
+
+    /**
+     * Creates a dynamic array with the given initial capacity.
+     *
+     * @param initialCapacity the initial length of the internal array
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public DoubleDynamicArray(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity can't be negative: " + initialCapacity);
+        array = new double[Math.max(1, initialCapacity)];
+    }
+
+
+    /**
+     * Returns the number of elements currently stored in the dynamic array.
+     *
+     * @return the current size of the array
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Returns the element in the specified index
+     *
+     * @param index the specified index
+     * @return element the element at the specified index
+     * @throws IndexOutOfBoundsException
+     */
+    public double get(int index) throws IndexOutOfBoundsException {
+        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+        return array[index];
+    }
+
+
+    /**
+     * Set an element at a specified index
+     *
+     * @param index the specified index
+     * @param element the element to be set
+     * @throws IndexOutOfBoundsException
+     */
+    public void set(int index, double element) {
+        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+        array[index] = element;
+    }
+
+
+    /**
+     * Adds an element to the end of the dynamic array.
+     * If the array is full, it doubles the capacity before adding.
+     *
+     * @param element The element to add
+     */
+    public void add(double element) {
+        if (size == array.length) array = Arrays.copyOf(array, array.length * 2);   //if no more capacity, double the array
+        array[size++] = element;    //increment size after adding new element
+    }
+
+
+    /**
+     * Appends every value of {@code values} with a single capacity check and one {@code System.arraycopy}.
+     *
+     * @param values the values to add
+     */
+    public void addAll(double[] values) {
+        addAll(values, 0, values.length);
+    }
+
+
+    /**
+     * Appends {@code length} values of {@code values} starting at {@code offset}.
+     *
+     * @param values the source array
+     * @param offset the index of the first value to copy
+     * @param length the number of values to copy
+     * @throws IndexOutOfBoundsException if the range is outside {@code values}
+     */
+    public void addAll(double[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > values.length - length) throw new IndexOutOfBoundsException("Range [" + offset + ", " + (offset + length) + ") is out of bounds.");
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, array, size, length);
+        size += length;
+    }
+
+
+    /**
+     * Inserts an element to a specified index and shifts rest of the
+     * elements to the right of the dynamic array.
+     *
+     * @param index The position where the element should be inserted
+     * @param element The element to add
+     * @throws IndexOutOfBoundsException if index is negative or greater than size
+     */
+    public void insert(int index, double element) {
+        //insertion is allowed at the very end as well
+        if (!(index >= 0 && index <= size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+
+        if (size == array.length) array = Arrays.copyOf(array, array.length * 2);
+
+        System.arraycopy(array, index, array, index + 1, size - index);   //shift everything to the right from specified index
+        array[index] = element;
+        size++;
+    }
+
+
+    /**
+     * Removes element at specified index and left shift the rest of the array.
+     *
+     * @param index index from which element is to be popped
+     * @return element the element which was popped
+     * @throws IndexOutOfBoundsException if out of bounds index was passed
+     */
+    public double pop(int index) throws IndexOutOfBoundsException {
+        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+
+        double element = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);     //left-shift
+        size--;
+        return element;
+    }
+
+
+    /**
+     * Removes the last element of the dynamic array and returns it
+     * @return element the last element of the dynamic array
+     * @throws IndexOutOfBoundsException if the array is empty
+     */
+    public double pop() throws IndexOutOfBoundsException {
+        if (size == 0) throw new IndexOutOfBoundsException("Can't pop from an empty array.");
+        return array[--size];
+    }
+
+
+    /**
+     * Checks whether an element exists inside the dynamic array.
+     * @param element element to be found
+     * @return boolean true or false
+     */
+    public boolean contains(double element) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == element) return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Resets the size to 0. The internal array is kept for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+
+    /**
+     * Grows the internal array so it can hold at least {@code capacity} elements.
+     * @param capacity the required capacity
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > array.length) array = Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+    }
+
+
+    /**
+     * Returns the internal array without copying. Only indices {@code 0} to {@code size() - 1} are
+     * meaningful, and the returned reference is replaced (not updated) when the array grows, so
+     * don't hold on to it across calls that add elements.
+     * @return the backing array
+     */
+    public double[] backingArray() {
+        return array;
+    }
+
+
+    /**
+     * Returns a copy of the elements.
+     * @return a new array of length {@link #size()}
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+
+    /**
+     * Applies {@code action} to every element in index order, without boxing.
+     * @param action the action to apply
+     */
+    public void forEach(DoubleConsumer action) {
+        double[] array = this.array;
+        int size = this.size;
+        for (int i = 0; i < size; i++) action.accept(array[i]);
+    }
+
+
+    /**
+     * Returns a string representation of the {@code DoubleDynamicArray} object.
+     * @return String
+     */
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(array, size));
+    }
+
+
+    /**
+     * Returns a primitive iterator over the elements. {@code nextDouble()} doesn't box.
+     * @return an iterator over the elements
+     */
+    public PrimitiveIterator.OfDouble iterator() {
+        return new PrimitiveIterator.OfDouble() {
+            private int current = 0;
+
+            public boolean hasNext() {
+                return current < size;
+            }
+
+            public double nextDouble() {
+                if (current >= size) throw new NoSuchElementException();
+                return array[current++];
+            }
+        };
+    }
+
+
+}
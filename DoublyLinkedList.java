@@ -0,0 +1,491 @@
+import java.util.*;
+/**
+ * A generic implementation of a Doubly Linked List in Java, the companion of {@link SinglyLinkedList}.
+ * Every node also points to its previous node, so removing the tail ({@code pop}/{@code removeLast})
+ * takes O(1) instead of a walk from the head, and {@code get}, {@code insert} and {@code removeAt}
+ * walk from whichever end is closer to the index.
+ * <p>
+ * Iterate forwards with a for-each loop, backwards with {@link #descendingIterator()}, or both ways
+ * with {@link #listIterator(int)}. Iterators are fail-fast.
+ * @author Taskin Saadman
+ * @see SinglyLinkedList
+ */
+public class DoublyLinkedList<T> implements Iterable<T> {
+    private Node head;
+    private Node tail;
+    private int size;
+    private int modCount;   //no. of structural modifications, checked by iterators
+
+    /**
+     * Constructs the {@code DoublyLinkedList} with size 0 and head and tail pointing to {@code null}
+     */
+    public DoublyLinkedList() {
+        head = tail = null;     //DoublyLinkedList starts empty
+        size = 0;
+    }
+
+
+    /**
+     * Checks whether a DoublyLinkedList is empty or not
+     * @return boolean true or false is returned
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Returns the no. of elements in the list
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Appends a new value to the end of the {@code DoublyLinkedList}. O(1).
+     * @param data the value to be added
+     */
+    public void add(T data) {
+        linkBefore(data, null);
+    }
+
+
+    /**
+     * Add an element to the beginning of the DoublyLinkedList. O(1).
+     * @param data the data to be added
+     */
+    public void addFirst(T data) {
+        linkBefore(data, head);
+    }
+
+
+    /**
+     * Clears the entire instance.
+     * Resets {@code head} and {@code tail} to {@code null} and {@code size} to {@code 0}.
+     */
+    public void clear() {
+        head = tail = null; size = 0;
+        modCount++;
+    }
+
+
+    /**
+     * Remove the head node and return its data. O(1).
+     * @return T the data inside head node
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T removeHead() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException("Can't remove head from empty DoublyLinkedList");
+        return unlink(head);
+    }
+
+
+    /**
+     * Removes the tail and returns its data. O(1).
+     * @return the tail Node's data
+     * @throws NoSuchElementException for empty DoublyLinkedLists
+     */
+    public T pop() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException("Can't pop() from and empty DoublyLinkedList.");
+        return unlink(tail);
+    }
+
+
+    /**
+     * Removes the tail and returns its data. Same as {@link #pop()}.
+     * @return the tail Node's data
+     * @throws NoSuchElementException for empty DoublyLinkedLists
+     */
+    public T removeLast() throws NoSuchElementException {
+        return pop();
+    }
+
+
+    /**
+     * Get the value at a specified index, walking from the closer end.
+     * @param index the specified index.
+     * @return T the value at that index.
+     * @throws IndexOutOfBoundsException if out of bounds index was passed into the function.
+     */
+    public T get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+        return node(index).getData();
+    }
+
+
+    /**
+     * Replaces the value at a specified index and returns the old one.
+     * @param index the specified index.
+     * @param data the new value
+     * @return T the value previously at that index.
+     * @throws IndexOutOfBoundsException if out of bounds index was passed into the function.
+     */
+    public T set(int index, T data) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+        Node target = node(index);
+        T old = target.getData();
+        target.setData(data);
+        return old;
+    }
+
+
+    /**
+     * Inserts a new Node at a specific index, shifting everything else to the right.
+     * @param index index where insertion is to be done
+     * @param data value of the new node to be added
+     * @throws IndexOutOfBoundsException if out of bounds index is entered
+     */
+    public void insert(int index, T data) throws IndexOutOfBoundsException {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + size);
+        linkBefore(data, index == size ? null : node(index));
+    }
+
+
+    /**
+     * Remove the node at the specified index and return its value
+     * @param index the specific index
+     * @return the value at index
+     * @throws IndexOutOfBoundsException
+     */
+    public T removeAt(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+        return unlink(node(index));
+    }
+
+
+    /**
+     * Finds the index for the first instance of a particular value in the DoublyLinkedList.
+     * @param value the value whose index is to be found
+     * @return index the valute of the index. If value doesn't exist return -1.
+     */
+    public int indexOf(T value) {
+        int index = 0;
+        for (Node current = head; current != null; current = current.getNext()) {
+            T item = current.getData();     //equality check for both null and non-null elements
+            if ((value == null && item == null) || (item != null && item.equals(value))) return index;
+            index++;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Finds the index for the last instance of a particular value, searching from the tail.
+     * @param value the value whose index is to be found
+     * @return index the valute of the index. If value doesn't exist return -1.
+     */
+    public int lastIndexOf(T value) {
+        int index = size - 1;
+        for (Node current = tail; current != null; current = current.getPrev()) {
+            T item = current.getData();
+            if ((value == null && item == null) || (item != null && item.equals(value))) return index;
+            index--;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Returns {@code true} or {@code false} if a value exists in the instance.
+     * @param data the value to be found
+     * @return boolean true or false
+     */
+    public boolean contains(T data) {
+        return indexOf(data) != -1;
+    }
+
+
+    /**
+     * Returns the head node's data
+     * @return data
+     * @throws NoSuchElementException if list is empty
+     */
+    public T getHead() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException();
+        return head.getData();
+    }
+
+
+    /**
+     * Returns the tail node's data
+     * @return data
+     * @throws NoSuchElementException if list is empty
+     */
+    public T getTail() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException();
+        return tail.getData();
+    }
+
+
+    /**
+     * Returns a fail-fast iterator from head to tail.
+     * @return Iterator<T> an iterator object
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return listIterator(0);
+    }
+
+
+    /**
+     * Returns a fail-fast iterator from tail to head.
+     * @return Iterator<T> an iterator object
+     */
+    public Iterator<T> descendingIterator() {
+        return new Iterator<T>() {
+            final ListIterator<T> iterator = listIterator(size);
+
+            public boolean hasNext() { return iterator.hasPrevious(); }
+
+            public T next() { return iterator.previous(); }
+
+            public void remove() { iterator.remove(); }
+        };
+    }
+
+
+    /**
+     * Returns a fail-fast {@code ListIterator} positioned before index {@code index}.
+     * It moves in both directions, and its {@code add}, {@code remove} and {@code set} take O(1).
+     * @param index the index of the first element returned by {@code next()}
+     * @return a list iterator
+     * @throws IndexOutOfBoundsException if index is negative or greater than size
+     */
+    public ListIterator<T> listIterator(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + size);
+        return new Cursor(index);
+    }
+
+
+    /**
+     * String representation of the {@code DoublyLinkedList} instance.
+     * @return the {@code String} representation
+     */
+    public String toString() {
+        if (head == null) return "[ ]";
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        Node current = head;
+
+        while (current != tail) {
+            sb.append(current.getData() + " <-> ");
+            current = current.getNext();
+        }
+
+        sb.append(tail.getData() + "]");
+        return sb.toString();
+    }
+
+
+    /**
+     * Returns the node at {@code index}, walking from the head or the tail, whichever is closer.
+     * @param index an index between 0 and size - 1
+     * @return the node
+     */
+    private Node node(int index) {
+        Node current;
+        if (index < size / 2) {
+            current = head;
+            for (int i = 0; i < index; i++) current = current.getNext();
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) current = current.getPrev();
+        }
+        return current;
+    }
+
+
+    /**
+     * Links a new node holding {@code data} in front of {@code successor}.
+     * @param data the value of the new node
+     * @param successor the node that will follow the new one, or {@code null} to append
+     */
+    private void linkBefore(T data, Node successor) {
+        Node predecessor = successor == null ? tail : successor.getPrev();
+        Node newNode = new Node(data);
+        newNode.setPrev(predecessor);
+        newNode.setNext(successor);
+
+        if (predecessor == null) head = newNode;    //new head
+        else predecessor.setNext(newNode);
+        if (successor == null) tail = newNode;      //new tail
+        else successor.setPrev(newNode);
+
+        size++;
+        modCount++;
+    }
+
+
+    /**
+     * Unlinks {@code target} from the list and returns its data.
+     * @param target a node of this list
+     * @return the data of the removed node
+     */
+    private T unlink(Node target) {
+        Node predecessor = target.getPrev(), successor = target.getNext();
+
+        if (predecessor == null) head = successor;
+        else predecessor.setNext(successor);
+        if (successor == null) tail = predecessor;
+        else successor.setPrev(predecessor);
+
+        T data = target.getData();
+        target.setData(null);   //help the garbage collector
+        target.setPrev(null);
+        target.setNext(null);
+        size--;
+        modCount++;
+        return data;
+    }
+
+
+
+    /**
+     * {@code ListIterator} that keeps a reference to the node it will return next,
+     * so every step, insertion and removal is O(1).
+     */
+    private class Cursor implements ListIterator<T> {
+        Node nextNode;          //node returned by next(), null at the end
+        Node lastReturned;      //node returned by the last next()/previous(), target of set()/remove()
+        int nextIndex;
+        int expectedModCount = modCount;
+
+        Cursor(int index) {
+            nextNode = index == size ? null : node(index);
+            nextIndex = index;
+        }
+
+        public boolean hasNext() { return nextIndex < size; }
+
+        public boolean hasPrevious() { return nextIndex > 0; }
+
+        public int nextIndex() { return nextIndex; }
+
+        public int previousIndex() { return nextIndex - 1; }
+
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) throw new NoSuchElementException();
+            lastReturned = nextNode;
+            nextNode = nextNode.getNext();
+            nextIndex++;
+            return lastReturned.getData();
+        }
+
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious()) throw new NoSuchElementException();
+            nextNode = nextNode == null ? tail : nextNode.getPrev();
+            lastReturned = nextNode;
+            nextIndex--;
+            return lastReturned.getData();
+        }
+
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) throw new IllegalStateException();
+            if (lastReturned == nextNode) nextNode = nextNode.getNext();    //removing after previous()
+            else nextIndex--;                                               //removing after next()
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        public void set(T data) {
+            checkForComodification();
+            if (lastReturned == null) throw new IllegalStateException();
+            lastReturned.setData(data);
+        }
+
+        public void add(T data) {
+            checkForComodification();
+            linkBefore(data, nextNode);
+            nextIndex++;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+    }
+
+
+
+    /**
+     * Private inner class defining Node behavior.
+     * Each node has a value and references to the previous and the next node.
+     * Generic Type Parameter {@code T} is inherited from outer class.
+     */
+    private class Node {
+        T data;
+        Node prev;
+        Node next;
+
+        /**
+         * Constructs a node with {@code data} passed as an argument and both pointers as {@code null}
+         */
+        Node(T data) {
+            this.data = data;
+        }
+
+
+        /**
+         * Set the pointer to the next node for current {@code Node} instance.
+         * @param next the next node which is being pointed by the current node.
+         */
+        void setNext(Node next) {
+            this.next = next;
+        }
+
+
+        /**
+         * Get the next {@code Node} in the List
+         * @return returns the next node's reference
+         */
+        Node getNext() {
+            return this.next;
+        }
+
+
+        /**
+         * Set the pointer to the previous node for current {@code Node} instance.
+         * @param prev the node in front of the current node.
+         */
+        void setPrev(Node prev) {
+            this.prev = prev;
+        }
+
+
+        /**
+         * Get the previous {@code Node} in the List
+         * @return returns the previous node's reference
+         */
+        Node getPrev() {
+            return this.prev;
+        }
+
+
+        /**
+         * Get the data stored in the current {@code Node} instance
+         * @return returns current instance's data
+         */
+        T getData() {
+            return this.data;
+        }
+
+
+        /**
+         * Sets the {@code data} field of current {@code Node} instance
+         * @param data the new data entered
+         */
+        void setData(T data) {
+            this.data = data;
+        }
+
+    }
+
+}
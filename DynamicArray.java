@@ -1,8 +1,22 @@
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * A generic dynamic array implementation that automatically resizes as elements are added or removed.
  * Its functionality is similar to that of the {@code ArrayList} class.
+ * <p>
+ * Iterators are fail-fast: they throw {@code ConcurrentModificationException} if the array is
+ * structurally modified after they were created. For readers that must keep going while a writer
+ * changes the array, {@link #snapshot()} gives a view frozen at the time of the call.
  * 
  * @param <T> The type of elements stored in the dynamic array
  * @author Taskin Saadman
@@ -14,13 +28,45 @@ public class DynamicArray<T> implements Iterable<T> {
 
     private T[] array;     //internal static array storing data
     private int size;     //no. of elements inside
+    private final int initialCapacity;   //capacity restored by clear(), floor for auto-shrinking
+    private double growthFactor = 2.0;   //capacity multiplier used when the array is full
+    private boolean autoShrink;          //halve the array when pops leave it a quarter full
+    private int modCount;     //no. of structural modifications, checked by iterators
+    private boolean shared;   //a snapshot references the current array, copy it before writing in place
 
 
     /**
      * Creates a dynamic array with an initial capacity of 10.
      */
     public DynamicArray() {
-        array = (T[]) new Object[10];   //typecasting warning suppressed
+        this(10);
+    }
+
+
+    /**
+     * Creates a dynamic array with the given initial capacity, so that filling it up to that
+     * many elements never copies the internal array.
+     * 
+     * @param initialCapacity the initial length of the internal array
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public DynamicArray(int initialCapacity) {
+        this(initialCapacity, 2.0);
+    }
+
+
+    /**
+     * Creates a dynamic array with the given initial capacity and growth factor.
+     * 
+     * @param initialCapacity the initial length of the internal array
+     * @param growthFactor the factor the capacity is multiplied by when the array is full
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative or {@code growthFactor} isn't greater than 1
+     */
+    public DynamicArray(int initialCapacity, double growthFactor) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity can't be negative: " + initialCapacity);
+        setGrowthFactor(growthFactor);
+        this.initialCapacity = Math.max(1, initialCapacity);
+        array = (T[]) new Object[this.initialCapacity];   //typecasting warning suppressed
         size = 0;
     }
 
@@ -61,19 +107,21 @@ public class DynamicArray<T> implements Iterable<T> {
 
         if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
         
+        detachFromSnapshot();
         array[index] = element;
     }
 
 
     /**
      * Adds an element to the end of the dynamic array.
-     * If the array is full, it doubles the capacity before adding.
+     * If the array is full, it multiplies the capacity by the growth factor (2 by default) before adding.
      * 
      * @param element The element to add
      */
     public void add(T element) {
-        if (size == array.length) array = Arrays.copyOf(array, array.length * 2);   //if no more capacity, double the array
+        if (size == array.length) grow(size + 1);   //if no more capacity, grow the array
         array[size++] = element;    //increment size after adding new element
+        modCount++;
     }
 
 
@@ -92,14 +140,107 @@ public class DynamicArray<T> implements Iterable<T> {
 
         if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
 
-        if (size == array.length) array = Arrays.copyOf(array, array.length * 2);
+        if (size == array.length) grow(size + 1);
+        detachFromSnapshot();
 
-        for(int i = size - 1; i >= index; i--) {    //shift everything to the right from specified index
-            array[i + 1] = array[i];
-        }
+        System.arraycopy(array, index, array, index + 1, size - index);    //shift everything to the right from specified index
 
         array[index] = element;     //insert element and increment size
         size++;
+        modCount++;
+    }
+
+
+    /**
+     * Appends every element of {@code elements} with a single capacity check and one {@code System.arraycopy}.
+     * 
+     * @param elements the elements to add
+     * @throws NullPointerException if any element is {@code null}
+     */
+    public void addAll(T[] elements) {
+        for (T element : elements) {
+            if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        }
+
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, array, size, elements.length);
+        size += elements.length;
+        modCount++;
+    }
+
+
+    /**
+     * Appends every element of {@code elements} in iteration order.
+     * Another {@code DynamicArray} is copied with one {@code System.arraycopy}; a
+     * {@code java.util.Collection} grows the array at most once.
+     * 
+     * @param elements the elements to add
+     */
+    public void addAll(Iterable<? extends T> elements) {
+        if (elements instanceof DynamicArray) {
+            DynamicArray<? extends T> other = (DynamicArray<? extends T>) elements;
+            int count = other.size;     //read once, in case other == this
+            ensureCapacity(size + count);
+            System.arraycopy(other.array, 0, array, size, count);
+            size += count;
+            modCount++;
+            return;
+        }
+        if (elements instanceof Collection) ensureCapacity(size + ((Collection<?>) elements).size());
+        for (T element : elements) add(element);
+    }
+
+
+    /**
+     * Inserts every element of {@code elements} at {@code index}, shifting the rest of the array to
+     * the right once by {@code elements.length} rather than once per element.
+     * 
+     * @param index the position of the first inserted element
+     * @param elements the elements to insert
+     * @throws IndexOutOfBoundsException if index is negative or greater than size
+     * @throws NullPointerException if any element is {@code null}
+     */
+    public void insertAll(int index, T[] elements) {
+        if (!(index >= 0 && index <= size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+        for (T element : elements) {
+            if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        }
+
+        int count = elements.length;
+        ensureCapacity(size + count);
+        detachFromSnapshot();
+        System.arraycopy(array, index, array, index + count, size - index);  //open a gap of count slots
+        System.arraycopy(elements, 0, array, index, count);
+        size += count;
+        modCount++;
+    }
+
+
+    /**
+     * Inserts every element of {@code elements} at {@code index}, shifting the rest of the array once.
+     * 
+     * @param index the position of the first inserted element
+     * @param elements the elements to insert
+     * @throws IndexOutOfBoundsException if index is negative or greater than size
+     * @throws NullPointerException if any element is {@code null}
+     */
+    public void insertAll(int index, DynamicArray<? extends T> elements) {
+        if (elements == this) {     //source would shift under us, insert a copy instead
+            insertAll(index, Arrays.copyOf(array, size));
+            return;
+        }
+        if (!(index >= 0 && index <= size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+        int count = elements.size;
+        for (int i = 0; i < count; i++) {
+            if (elements.array[i] == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        }
+
+        ensureCapacity(size + count);
+        detachFromSnapshot();
+        System.arraycopy(array, index, array, index + count, size - index);  //open a gap of count slots
+        System.arraycopy(elements.array, 0, array, index, count);
+        size += count;
+        modCount++;
     }
 
 
@@ -111,27 +252,92 @@ public class DynamicArray<T> implements Iterable<T> {
      * @throws IndexOutOfBoundsException if out of bounds index was passed
      */
     public T pop(int index) throws IndexOutOfBoundsException {
-        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException();
+        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
 
         T element = array[index];
+        detachFromSnapshot();
 
-        for(int i = index; i < size; i++) {     //left-shift
-            array[i] = array[i+1];
-        }
+        System.arraycopy(array, index + 1, array, index, size - index - 1);     //left-shift
 
-        size--;     //decrement size and return popped element
+        modCount++;
+        array[--size] = null;     //decrement size and clear the vacated slot so it can be garbage collected
+        shrinkIfSparse();
         return element;
     }
 
 
+    /**
+     * Removes the elements from index {@code from} (inclusive) to {@code to} (exclusive),
+     * left shifting the rest of the array once.
+     * 
+     * @param from the index of the first element to remove
+     * @param to the index after the last element to remove
+     * @throws IndexOutOfBoundsException if the range is out of bounds or {@code from > to}
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        if (from < 0 || to > size || from > to) throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds.");
+        detachFromSnapshot();
+
+        System.arraycopy(array, to, array, from, size - to);
+        int newSize = size - (to - from);
+        Arrays.fill(array, newSize, size, null);    //clear vacated slots
+        size = newSize;
+        modCount++;
+        shrinkIfSparse();
+    }
+
+
+    /**
+     * Removes every element matching {@code filter}, compacting the kept elements towards the front
+     * in a single pass. The filter is applied to every element before anything is moved, so if it
+     * throws, the array is left unchanged. If nothing matches, the array isn't modified at all.
+     * 
+     * @param filter returns {@code true} for elements to remove
+     * @return the number of elements removed
+     * @throws ConcurrentModificationException if {@code filter} modifies the array
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        int expectedModCount = modCount;
+        int first = 0;
+        while (first < size && !filter.test(array[first])) first++;    //find the first match
+        if (first == size) {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            return 0;
+        }
+
+        BitSet matches = new BitSet(size - first);   //matches, relative to first
+        matches.set(0);
+        for (int i = first + 1; i < size; i++) {
+            if (filter.test(array[i])) matches.set(i - first);
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+
+        detachFromSnapshot();
+        int kept = first;
+        for (int i = first; i < size; i++) {
+            if (!matches.get(i - first)) array[kept++] = array[i];
+        }
+
+        int removed = size - kept;
+        Arrays.fill(array, kept, size, null);   //clear vacated slots
+        size = kept;
+        modCount++;
+        shrinkIfSparse();
+        return removed;
+    }
+
+
     /**
      * Removes the last element of the dynamic array and returns it
      * @return element the last element of the dynamic array
      */
     public T pop() {
         T element = array[size - 1];
+        detachFromSnapshot();
         array[size - 1] = null;
         size--;
+        modCount++;
+        shrinkIfSparse();
         return element;
     }
 
@@ -152,13 +358,147 @@ public class DynamicArray<T> implements Iterable<T> {
     }
 
 
+    /**
+     * Returns the length of the internal array, i.e. how many elements fit before it has to grow.
+     * 
+     * @return the current capacity
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+
+    /**
+     * Grows the internal array, if needed, so that it holds at least {@code minCapacity} elements.
+     * Call this before a known batch of {@code add()}s to copy the array at most once.
+     * 
+     * @param minCapacity the required capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) grow(minCapacity);
+    }
+
+
+    /**
+     * Shrinks the internal array to exactly {@code size()} elements (at least 1).
+     */
+    public void trimToSize() {
+        int target = Math.max(1, size);
+        if (target < array.length) {
+            array = Arrays.copyOf(array, target);
+            shared = false;
+        }
+    }
+
+
+    /**
+     * Hands over the internal array, trimmed to exactly {@code size()} elements, and leaves this
+     * dynamic array empty. The internal array is returned as is when it is already full, so
+     * {@link CopyOnWriteDynamicArray} can publish a batch without copying it again.
+     * 
+     * @return the elements, in an array of length {@code size()}
+     */
+    T[] takeArray() {
+        T[] elements = size == array.length ? array : Arrays.copyOf(array, size);
+        array = (T[]) new Object[initialCapacity];   //a snapshot may still read the old array, never write it again
+        size = 0;
+        shared = false;
+        modCount++;
+        return elements;
+    }
+
+
+    /**
+     * Sets the factor the capacity is multiplied by when the array is full.
+     * Smaller factors waste less memory, larger ones copy less often.
+     * 
+     * @param growthFactor a factor greater than 1
+     * @throws IllegalArgumentException if {@code growthFactor} isn't greater than 1
+     */
+    public void setGrowthFactor(double growthFactor) {
+        if (!(growthFactor > 1.0)) throw new IllegalArgumentException("Growth factor must be greater than 1: " + growthFactor);
+        this.growthFactor = growthFactor;
+    }
+
+
+    /**
+     * Enables or disables automatic shrinking. When enabled, removing elements so that the array is
+     * at most a quarter full halves its capacity (never below the initial capacity). Shrinking to half
+     * rather than a quarter leaves room to grow again before the next copy, so alternating adds and
+     * pops around the threshold don't reallocate on every call.
+     * 
+     * @param autoShrink {@code true} to release memory as the array empties
+     */
+    public void setAutoShrink(boolean autoShrink) {
+        this.autoShrink = autoShrink;
+        shrinkIfSparse();
+    }
+
+
+    /**
+     * Grows the internal array by the growth factor, or to {@code minCapacity} if that is larger.
+     * @param minCapacity the required capacity
+     */
+    private void grow(int minCapacity) {
+        long grown = (long) (array.length * growthFactor);
+        int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(grown, array.length + 1L));
+        array = Arrays.copyOf(array, Math.max(minCapacity, newCapacity));
+        shared = false;     //the copy is private even if a snapshot held the old array
+    }
+
+
+    /**
+     * Halves the internal array while auto-shrinking is on and it is at most a quarter full.
+     */
+    private void shrinkIfSparse() {
+        if (!autoShrink) return;
+        while (array.length > initialCapacity && size <= array.length / 4) {
+            array = Arrays.copyOf(array, Math.max(initialCapacity, array.length / 2));
+            shared = false;
+        }
+    }
+
+
+    /**
+     * Copies the internal array if a snapshot still shares it, so the next in-place write
+     * doesn't show through the snapshot.
+     */
+    private void detachFromSnapshot() {
+        if (shared) {
+            array = array.clone();
+            shared = false;
+        }
+    }
+
+
     /**
      * Substitute old internal static array with new and reset size.
+     * The new array has the initial capacity this dynamic array was created with.
      */
-    
     public void clear() {
-        array = (T[]) new Object[10];
+        array = (T[]) new Object[initialCapacity];
+        shared = false;
+        size = 0;
+        modCount++;
+    }
+
+
+    /**
+     * Removes all elements. With {@code keepCapacity} set, the internal array is kept (its slots are
+     * cleared) so refilling it to the same size doesn't copy anything.
+     * 
+     * @param keepCapacity {@code true} to keep the current internal array
+     */
+    public void clear(boolean keepCapacity) {
+        if (!keepCapacity) { clear(); return; }
+        if (shared) {   //the snapshot keeps the old array, start from a fresh one of the same size
+            array = (T[]) new Object[array.length];
+            shared = false;
+        } else {
+            Arrays.fill(array, 0, size, null);
+        }
         size = 0;
+        modCount++;
     }
 
     /**
@@ -173,22 +513,205 @@ public class DynamicArray<T> implements Iterable<T> {
     /**
      * Method overridden from Iterable<T> interface.
      * Useful to iterate through the dynamic array using for-each loop.
+     * The iterator is fail-fast: a structural modification of the array made after the iterator
+     * was created makes the next call to {@code next()} throw {@code ConcurrentModificationException}.
      * @return an iterator over elements of type {@code T}
      */
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
             private int current = 0;
+            private final int expectedModCount = modCount;
 
             public boolean hasNext() {
                 return current < size;
             }
 
             public T next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (current >= size) throw new NoSuchElementException();
                 return array[current++];
             }
         };
     }
 
 
-}
\ No newline at end of file
+    /**
+     * Returns a read-only view of the elements as they are right now. Later changes to this array
+     * are not visible through the view, and iterating it never throws
+     * {@code ConcurrentModificationException}.
+     * <p>
+     * Taking a snapshot is O(1): the view shares the internal array. Appends ({@code add}, {@code addAll})
+     * write past the snapshot's end and share it for free; the first operation that would overwrite
+     * a shared slot ({@code set}, {@code insert}, {@code pop}, removals, sorting) copies the array once.
+     * <p>
+     * Take the snapshot on the thread that modifies the array (or under its lock). The returned view
+     * is immutable and can then be handed to any number of reader threads.
+     * @return an immutable view of the current elements
+     */
+    public Iterable<T> snapshot() {
+        shared = true;
+        return new Snapshot<T>(array, size);
+    }
+
+
+    /**
+     * Returns a {@code Spliterator} over the elements that splits the index range in halves,
+     * so parallel streams divide the work evenly across threads.
+     * Reports {@code SIZED}, {@code SUBSIZED} and {@code ORDERED}.
+     * <p>
+     * Like {@code ArrayList}'s, the spliterator is late-binding: it picks up the elements when it is
+     * first traversed, split or sized, not when it is created. So elements added between
+     * {@code stream()} and the terminal operation are included, and only changes made after that
+     * throw {@code ConcurrentModificationException}.
+     * @return a spliterator over elements of type {@code T}
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<T>(this);
+    }
+
+
+    /**
+     * Returns a sequential {@code Stream} over the elements.
+     * @return a stream of the elements in index order
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+
+    /**
+     * Returns a parallel {@code Stream} over the elements, without copying the array.
+     * @return a possibly parallel stream of the elements
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+
+    /**
+     * Applies {@code action} to every element using the common fork-join pool.
+     * The order in which elements are visited is unspecified and {@code action} must be thread-safe.
+     * @param action the action to apply
+     */
+    public void parallelForEach(Consumer<? super T> action) {
+        parallelStream().forEach(action);
+    }
+
+
+    /**
+     * Sorts the elements by {@code comparator} with the fork-join parallel merge sort of
+     * {@code Arrays.parallelSort}. A {@code null} comparator sorts by natural ordering.
+     * @param comparator the ordering, or {@code null} for natural ordering
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        detachFromSnapshot();
+        Arrays.parallelSort(array, 0, size, comparator);
+        modCount++;
+    }
+
+
+    /**
+     * Spliterator over a slice of the internal array. {@code trySplit()} hands the lower half of
+     * the remaining range to a new spliterator. Fail-fast like the iterator.
+     * <p>
+     * A spliterator created by {@link DynamicArray#spliterator()} binds the array, its size and the
+     * mod count on first use ({@code end} is -1 until then); the halves it splits off are bound already.
+     */
+    private static final class ArraySpliterator<T> implements Spliterator<T> {
+        private final DynamicArray<T> owner;
+        private T[] array;
+        private int expectedModCount;
+        private int index;      //next element to visit
+        private int end;        //one past the last element, -1 until bound
+
+        ArraySpliterator(DynamicArray<T> owner) {
+            this(owner, null, 0, 0, -1);
+        }
+
+        private ArraySpliterator(DynamicArray<T> owner, T[] array, int expectedModCount, int index, int end) {
+            this.owner = owner;
+            this.array = array;
+            this.expectedModCount = expectedModCount;
+            this.index = index;
+            this.end = end;
+        }
+
+        /**
+         * Binds to the owner's current elements on first use.
+         * @return one past the last element
+         */
+        private int end() {
+            if (end < 0) {
+                array = owner.array;
+                expectedModCount = owner.modCount;
+                end = owner.size;
+            }
+            return end;
+        }
+
+        public Spliterator<T> trySplit() {
+            int mid = (index + end()) >>> 1;
+            if (mid <= index) return null;  //too small to split
+            Spliterator<T> lower = new ArraySpliterator<T>(owner, array, expectedModCount, index, mid);
+            index = mid;
+            return lower;
+        }
+
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= end()) return false;
+            action.accept(array[index++]);
+            if (owner.modCount != expectedModCount) throw new ConcurrentModificationException();
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super T> action) {
+            int end = end();
+            T[] array = this.array;
+            for (int i = index; i < end; i++) action.accept(array[i]);
+            index = end;
+            if (owner.modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+        public long estimateSize() {
+            return end() - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED;
+        }
+    }
+
+
+    /**
+     * Immutable view created by {@code snapshot()}. Only the first {@code size} slots of the shared
+     * array are read, and those are never written again by the owning array.
+     * Final fields make the view safe to publish to other threads.
+     */
+    private static final class Snapshot<T> implements Iterable<T> {
+        private final T[] array;
+        private final int size;
+
+        Snapshot(T[] array, int size) {
+            this.array = array;
+            this.size = size;
+        }
+
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int current = 0;
+
+                public boolean hasNext() {
+                    return current < size;
+                }
+
+                public T next() {
+                    if (current >= size) throw new NoSuchElementException();
+                    return array[current++];
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,322 @@
+import java.util.Arrays;
+import java.util.Comparator;
+/**
+ * A generic array-backed d-ary heap ordered by a {@code java.util.Comparator}.
+ * The element that compares lowest sits at the root, so a natural-order comparator gives a
+ * MinHeap and a reversed comparator gives a MaxHeap. {@link MinHeap} and {@link MaxHeap} are thin
+ * facades over this class.
+ * <p>
+ * Elements live directly in a {@code T[]}; {@code bubbleUp}/{@code bubbleDown} move a hole through
+ * the array and write the sifted element once instead of swapping through {@code get}/{@code set}.
+ * <p>
+ * The arity (children per node) defaults to 2 and can be set to 4, 8 or 16. Children of a node are
+ * stored next to each other, so with 4 or 8 children a node's children usually share a cache line
+ * and the tree is half or a third as tall; this pays off once the heap no longer fits in cache.
+ * @param <T> the type of elements stored in the heap
+ * @author Taskin Saadman
+ * @see MinHeap
+ * @see MaxHeap
+ */
+@SuppressWarnings("unchecked")
+public class Heap<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private T[] heap;   //internal static array storing the heap in level order
+    private int size;   //no. of elements inside
+    private final Comparator<? super T> comparator;
+    private final int shift;    //log2 of the arity: children of i start at (i << shift) + 1
+
+    /**
+     * Constructs an empty heap ordered by the elements' natural ordering.
+     * Elements must implement {@code java.lang.Comparable}.
+     */
+    public Heap() {
+        this((Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Constructs an empty heap ordered by {@code comparator}. The lowest element is at the root.
+     * @param comparator the ordering of the heap
+     * @throws NullPointerException if {@code comparator} is {@code null}
+     */
+    public Heap(Comparator<? super T> comparator) {
+        this(comparator, 2);
+    }
+
+    /**
+     * Constructs an empty d-ary heap ordered by {@code comparator}. The lowest element is at the root.
+     * @param comparator the ordering of the heap
+     * @param arity the number of children per node: 2, 4, 8 or 16
+     * @throws NullPointerException if {@code comparator} is {@code null}
+     * @throws IllegalArgumentException if {@code arity} is not one of the supported values
+     */
+    public Heap(Comparator<? super T> comparator, int arity) {
+        if (comparator == null) throw new NullPointerException("Comparator can't be null");
+        if (arity != 2 && arity != 4 && arity != 8 && arity != 16) throw new IllegalArgumentException("Arity must be 2, 4, 8 or 16: " + arity);
+        this.comparator = comparator;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.heap = (T[]) new Object[DEFAULT_CAPACITY];   //typecasting warning suppressed
+    }
+
+    /**
+     * Returns the comparator that orders this heap
+     * @return the comparator
+     */
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the number of children per node
+     * @return the arity of the heap
+     */
+    public int arity() {
+        return 1 << shift;
+    }
+
+    /**
+     * Returns the no. of elements stored in the heap
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a boolean based on whether the heap is empty or not
+     * @return true is heap is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a boolean based on whether a specific element exists in the heap.
+     * This is a linear scan using {@code equals}.
+     * @param element the element to be searched for
+     * @return true if found, otherwise false
+     */
+    public boolean contains(T element) {
+        for (int i = 0; i < size; i++) {
+            if (heap[i].equals(element)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the root value but does not pop it from the array
+     * @return the value at the root
+     * @throws RuntimeException if heap is empty
+     */
+    public T peek() throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        return heap[0];
+    }
+
+    /**
+     * Pops the value at the root and returns it.
+     * Moves the last element into the root and bubbles it down until heap property satisfied.
+     * @return the element at the root of the heap
+     * @throws RuntimeException if heap is empty
+     */
+    public T poll() throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        T polled = heap[0];     //return later
+        T last = heap[--size];
+        heap[size] = null;      //let go of the reference so it can be garbage collected
+        if (size > 0) bubbleDown(0, last);
+        return polled;
+    }
+
+    /**
+     * Replaces the root with {@code value} and bubbles it down, in one pass.
+     * Cheaper than a {@code poll()} followed by an {@code insert()}.
+     * @param value the new element
+     * @return the element that was at the root
+     * @throws RuntimeException if heap is empty
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public T replaceTop(T value) throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        if (value == null) throw new NullPointerException("Heap can't contain null elements");
+        T polled = heap[0];
+        bubbleDown(0, value);
+        return polled;
+    }
+
+    /**
+     * Inserts a new element to the end of the internal array, then
+     * utilizes the bubble up method to satisfy heap property.
+     * @param value the value to be inserted into the heap
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public void insert(T value) {
+        if (value == null) throw new NullPointerException("Heap can't contain null elements");
+        if (size == heap.length) heap = Arrays.copyOf(heap, heap.length * 2);    //if no more capacity, double the array
+        bubbleUp(size++, value);
+    }
+
+    /**
+     * Inserts every element of {@code values} into the heap.
+     * Large batches are appended in one copy and the heap is rebuilt bottom-up in O(n)
+     * (Floyd's algorithm); small batches are bubbled up one at a time.
+     * @param values the elements to be inserted
+     * @throws NullPointerException if any element is {@code null}
+     */
+    public void insertAll(T[] values) {
+        ensureCapacity(size + values.length);
+        for (T value : values) {
+            if (value == null) throw new NullPointerException("Heap can't contain null elements");
+        }
+        System.arraycopy(values, 0, heap, size, values.length);
+        restoreAfterAppend(size, values.length);
+    }
+
+    /**
+     * Inserts every element of {@code values} into the heap.
+     * Reads the elements through {@code get} so the array is grown only once.
+     * @param values the elements to be inserted
+     * @throws NullPointerException if any element is {@code null}
+     * @see #insertAll(Object[])
+     */
+    public void insertAll(DynamicArray<? extends T> values) {
+        int count = values.size();
+        ensureCapacity(size + count);
+        for (int i = 0; i < count; i++) {
+            T value = values.get(i);
+            if (value == null) {
+                Arrays.fill(heap, size, size + i, null);    //undo the partial append
+                throw new NullPointerException("Heap can't contain null elements");
+            }
+            heap[size + i] = value;
+        }
+        restoreAfterAppend(size, count);
+    }
+
+    /**
+     * Inserts every element of {@code values} into the heap.
+     * @param values the elements to be inserted
+     * @throws NullPointerException if any element is {@code null}
+     * @see #insertAll(Object[])
+     */
+    public void insertAll(Iterable<? extends T> values) {
+        int start = size;
+        for (T value : values) {
+            if (value == null) {
+                Arrays.fill(heap, start, size, null);   //undo the partial append
+                size = start;
+                throw new NullPointerException("Heap can't contain null elements");
+            }
+            if (size == heap.length) heap = Arrays.copyOf(heap, heap.length * 2);
+            heap[size++] = value;   //append only, the heap property is restored below
+        }
+        int count = size - start;
+        size = start;
+        restoreAfterAppend(start, count);
+    }
+
+    /**
+     * Returns a copy of the heap's elements in internal (level) order.
+     * @return a new array of length {@link #size()}
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(heap, size, Object[].class);
+    }
+
+    /**
+     * Removes all elements from the heap, making it empty.
+     * The internal array is kept; its slots are cleared so elements can be garbage collected.
+     */
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Grows the internal array so it can hold at least {@code capacity} elements.
+     * @param capacity the required capacity
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > heap.length) heap = Arrays.copyOf(heap, Math.max(capacity, heap.length * 2));
+    }
+
+    /**
+     * Restores the heap property after {@code count} elements were written right after the
+     * first {@code start} heap elements. Picks whichever of a full bottom-up rebuild (O(n)) or
+     * {@code count} bubble ups (O(k log n)) is cheaper.
+     * @param start the size of the heap before the elements were appended
+     * @param count the number of elements appended
+     */
+    private void restoreAfterAppend(int start, int count) {
+        int total = start + count;
+        int log = 32 - Integer.numberOfLeadingZeros(total);    //approx. height of the heap
+
+        if ((long) count * log > total) {
+            size = total;
+            heapify();
+        } else {
+            for (int i = start; i < total; i++) bubbleUp(size++, heap[i]);
+        }
+    }
+
+    /**
+     * Floyd's bottom-up heap construction: bubbles down every internal node, starting from the
+     * last parent and moving towards the root. Runs in O(n).
+     */
+    private void heapify() {
+        if (size < 2) return;
+        for (int i = (size - 2) >>> shift; i >= 0; i--) bubbleDown(i, heap[i]);
+    }
+
+    /**
+     * Bubble up logic when an element is inserted.
+     * Parents that compare higher than {@code value} are shifted down into the hole.
+     * @param i the index of the hole where the value starts
+     * @param value the element being inserted
+     */
+    private void bubbleUp(int i, T value) {
+        T[] heap = this.heap;
+        Comparator<? super T> comparator = this.comparator;
+        int shift = this.shift;
+
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> shift;
+            T parent = heap[parentIndex];
+            if (comparator.compare(value, parent) >= 0) break;   //heap property satisfied
+            heap[i] = parent;
+            i = parentIndex;
+        }
+        heap[i] = value;
+    }
+
+    /**
+     * Bubble down logic when poll() is called.
+     * The lowest child is shifted up into the hole while it compares lower than {@code value}.
+     * @param i the index of the hole where the value starts
+     * @param value the element being re-seated
+     */
+    private void bubbleDown(int i, T value) {
+        T[] heap = this.heap;
+        Comparator<? super T> comparator = this.comparator;
+        int size = this.size;
+        int shift = this.shift;
+
+        while (true) {
+            int first = (i << shift) + 1;
+            if (first >= size || first <= 0) break;     //leaf (or index overflow)
+            int last = Math.min(first + (1 << shift), size);
+
+            //find the lowest of the (up to arity) siblings, which are contiguous in the array
+            int child = first;
+            T best = heap[first];
+            for (int c = first + 1; c < last; c++) {
+                if (comparator.compare(heap[c], best) < 0) best = heap[child = c];
+            }
+            if (comparator.compare(value, best) <= 0) break;   //heap property satisfied
+            heap[i] = best;
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+}
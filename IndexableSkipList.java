@@ -0,0 +1,397 @@
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+/**
+ * A positional list built as a skip list: the nodes form a {@link SinglyLinkedList}-style chain at
+ * level 0, and a random subset of them also link forward on higher levels that skip over many nodes.
+ * Every forward link records its span, the no. of level-0 steps it skips, so a search can count
+ * positions while it descends. This gives {@code get}, {@code set}, {@code insert} and
+ * {@code removeAt} O(log n) expected time instead of a linear walk.
+ * <p>
+ * {@code add} keeps a pointer to the last node of every level, so appending stays O(1) expected.
+ * Iteration walks level 0 like a plain linked list and is fail-fast.
+ * @author Taskin Saadman
+ * @see SinglyLinkedList
+ */
+public class IndexableSkipList<T> implements Iterable<T> {
+    private static final int MAX_LEVEL = 16;    //enough for 4^16 elements with p = 1/4
+
+    private final Node<T> head = new Node<T>(null, MAX_LEVEL);  //sentinel at position -1
+    private final Node<T>[] last = newNodeArray(MAX_LEVEL);  //last node on each level, head if none
+    private final int[] lastPos = new int[MAX_LEVEL];   //position of last[l]
+    private int level;      //no. of levels in use
+    private int size;
+    private int modCount;   //no. of structural modifications, checked by iterators
+
+    /**
+     * Constructs an empty {@code IndexableSkipList}
+     */
+    public IndexableSkipList() {
+        clear();    //links every level to the sentinel
+    }
+
+
+    /**
+     * Checks whether the list is empty or not
+     * @return boolean true or false is returned
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Returns the no. of elements in the list
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Appends a new value to the end of the list. O(1) expected: only the new node's levels are linked.
+     * @param data the value to be added
+     */
+    public void add(T data) {
+        int nodeLevel = randomLevel();
+        Node<T> node = new Node<T>(data, nodeLevel);
+        if (nodeLevel > level) level = nodeLevel;
+
+        for (int l = 0; l < nodeLevel; l++) {
+            last[l].next[l] = node;
+            last[l].span[l] = size - lastPos[l];
+            last[l] = node;
+            lastPos[l] = size;
+        }
+        size++;
+        modCount++;
+    }
+
+
+    /**
+     * Add an element to the beginning of the list. O(log n) expected.
+     * @param data the data to be added
+     */
+    public void addFirst(T data) {
+        insert(0, data);
+    }
+
+
+    /**
+     * Clears the entire instance.
+     */
+    public void clear() {
+        Arrays.fill(head.next, null);
+        Arrays.fill(head.span, 0);
+        Arrays.fill(last, head);
+        Arrays.fill(lastPos, -1);
+        level = 1;
+        size = 0;
+        modCount++;
+    }
+
+
+    /**
+     * Remove the first element and return it
+     * @return T the first element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T removeHead() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException("Can't remove head from empty IndexableSkipList");
+        return removeAt(0);
+    }
+
+
+    /**
+     * Removes the last element and returns it. O(log n) expected.
+     * @return the last element
+     * @throws NoSuchElementException for empty lists
+     */
+    public T pop() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException("Can't pop() from and empty IndexableSkipList.");
+        return removeAt(size - 1);
+    }
+
+
+    /**
+     * Get the value at a specified index. O(log n) expected.
+     * @param index the specified index.
+     * @return T the value at that index.
+     * @throws IndexOutOfBoundsException if out of bounds index was passed into the function.
+     */
+    public T get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+        return nodeAt(index).data;
+    }
+
+
+    /**
+     * Replaces the value at a specified index and returns the old one. O(log n) expected.
+     * @param index the specified index.
+     * @param data the new value
+     * @return T the value previously at that index.
+     * @throws IndexOutOfBoundsException if out of bounds index was passed into the function.
+     */
+    public T set(int index, T data) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+        Node<T> node = nodeAt(index);
+        T old = node.data;
+        node.data = data;
+        return old;
+    }
+
+
+    /**
+     * Inserts a new value at a specific index, shifting everything else to the right. O(log n) expected.
+     * @param index index where insertion is to be done
+     * @param data value to be added
+     * @throws IndexOutOfBoundsException if out of bounds index is entered
+     */
+    public void insert(int index, T data) throws IndexOutOfBoundsException {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + size);
+        if (index == size) { this.add(data); return; }  //appending doesn't need a search
+
+        Node<T>[] update = newNodeArray(MAX_LEVEL);
+        int[] rank = new int[MAX_LEVEL];
+        findPredecessors(index, update, rank);
+
+        int nodeLevel = randomLevel();
+        for (int l = level; l < nodeLevel; l++) {   //new levels start at the sentinel
+            update[l] = head;
+            rank[l] = -1;
+        }
+        if (nodeLevel > level) level = nodeLevel;
+
+        for (int l = 0; l < MAX_LEVEL; l++) {   //every node from index on moves one position right
+            if (lastPos[l] >= index) lastPos[l]++;
+        }
+
+        Node<T> node = new Node<T>(data, nodeLevel);
+        for (int l = 0; l < nodeLevel; l++) {
+            Node<T> predecessor = update[l];
+            node.next[l] = predecessor.next[l];
+            if (node.next[l] != null) node.span[l] = rank[l] + predecessor.span[l] + 1 - index;
+            else {                  //nothing after it on this level, so it is the new last node
+                last[l] = node;
+                lastPos[l] = index;
+            }
+            predecessor.next[l] = node;
+            predecessor.span[l] = index - rank[l];
+        }
+        for (int l = nodeLevel; l < level; l++) {   //links above the new node now skip one more node
+            if (update[l].next[l] != null) update[l].span[l]++;
+        }
+
+        size++;
+        modCount++;
+    }
+
+
+    /**
+     * Remove the element at the specified index and return it. O(log n) expected.
+     * @param index the specific index
+     * @return the value at index
+     * @throws IndexOutOfBoundsException
+     */
+    public T removeAt(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+
+        Node<T>[] update = newNodeArray(MAX_LEVEL);
+        int[] rank = new int[MAX_LEVEL];
+        findPredecessors(index, update, rank);
+        Node<T> target = update[0].next[0];
+
+        for (int l = 0; l < level; l++) {
+            Node<T> predecessor = update[l];
+            if (predecessor.next[l] == target) {    //bypass target on this level
+                predecessor.next[l] = target.next[l];
+                predecessor.span[l] += target.span[l] - 1;
+            } else if (predecessor.next[l] != null) {
+                predecessor.span[l]--;
+            }
+
+            if (last[l] == target) {
+                last[l] = predecessor;
+                lastPos[l] = rank[l];
+            } else if (lastPos[l] > index) {
+                lastPos[l]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) level--;  //drop empty top levels
+
+        T data = target.data;
+        target.data = null;     //help the garbage collector
+        Arrays.fill(target.next, null);
+        size--;
+        modCount++;
+        return data;
+    }
+
+
+    /**
+     * Finds the index for the first instance of a particular value in the list. O(n).
+     * @param value the value whose index is to be found
+     * @return index the valute of the index. If value doesn't exist return -1.
+     */
+    public int indexOf(T value) {
+        int index = 0;
+        for (Node<T> current = head.next[0]; current != null; current = current.next[0]) {
+            T item = current.data;  //equality check for both null and non-null elements
+            if ((value == null && item == null) || (item != null && item.equals(value))) return index;
+            index++;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Returns {@code true} or {@code false} if a value exists in the instance.
+     * @param data the value to be found
+     * @return boolean true or false
+     */
+    public boolean contains(T data) {
+        return indexOf(data) != -1;
+    }
+
+
+    /**
+     * Returns the first element
+     * @return data
+     * @throws NoSuchElementException if list is empty
+     */
+    public T getHead() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException();
+        return head.next[0].data;
+    }
+
+
+    /**
+     * Method to be overriden from Iterable<T> interface to make the collection traversible
+     * through a for-each loop. Walks level 0 from the first element to the last.
+     * The iterator is fail-fast: if the list is structurally modified after the iterator was created,
+     * the next call to {@code next()} throws {@code ConcurrentModificationException}.
+     * @return Iterator<T> an iterator object
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Node<T> currentNode = head.next[0];
+            final int expectedModCount = modCount;
+
+            public boolean hasNext() { return currentNode != null; }
+
+            public T next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (currentNode == null) throw new NoSuchElementException();
+                T retVal = currentNode.data;
+                currentNode = currentNode.next[0];
+                return retVal;
+            }
+        };
+    }
+
+
+    /**
+     * String representation of the {@code IndexableSkipList} instance.
+     * @return the {@code String} representation
+     */
+    public String toString() {
+        if (size == 0) return "[ ]";
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (T value : this) sb.append(value + " -> ");
+        sb.setLength(sb.length() - 4);  //drop the last arrow
+        sb.append("]");
+        return sb.toString();
+    }
+
+
+    /**
+     * Returns the node at {@code index} by descending from the top level, adding up spans.
+     * @param index an index between 0 and size - 1
+     * @return the node
+     */
+    private Node<T> nodeAt(int index) {
+        Node<T> current = head;
+        int position = -1;
+        for (int l = level - 1; l >= 0; l--) {
+            while (current.next[l] != null && position + current.span[l] <= index) {
+                position += current.span[l];
+                current = current.next[l];
+            }
+            if (position == index) return current;
+        }
+        return current;
+    }
+
+
+    /**
+     * Fills {@code update[l]} with the last node before {@code index} on every level in use,
+     * and {@code rank[l]} with its position (-1 for the sentinel).
+     * @param index an index between 0 and size
+     * @param update receives the predecessors
+     * @param rank receives the predecessors' positions
+     */
+    private void findPredecessors(int index, Node<T>[] update, int[] rank) {
+        Node<T> current = head;
+        int position = -1;
+        for (int l = level - 1; l >= 0; l--) {
+            while (current.next[l] != null && position + current.span[l] < index) {
+                position += current.span[l];
+                current = current.next[l];
+            }
+            update[l] = current;
+            rank[l] = position;
+        }
+    }
+
+
+    /**
+     * Picks the no. of levels for a new node: each extra level with probability 1/4.
+     * @return a level between 1 and {@code MAX_LEVEL}
+     */
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && (bits & 3) == 0) {
+            nodeLevel++;
+            bits >>>= 2;
+        }
+        return nodeLevel;
+    }
+
+
+    /**
+     * Creates an array of {@code length} empty node links.
+     * @param length the no. of links
+     * @return the new array
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Node<T>[] newNodeArray(int length) {
+        return (Node<T>[]) new Node[length];
+    }
+
+
+
+    /**
+     * Node of the skip list: a value plus one forward link per level.
+     * {@code span[l]} is the no. of level-0 steps from this node to {@code next[l]}, and is only
+     * meaningful while {@code next[l]} isn't {@code null}.
+     */
+    private static final class Node<T> {
+        T data;
+        final Node<T>[] next;
+        final int[] span;
+
+        /**
+         * Constructs a node with {@code data} and {@code level} forward links, all {@code null}
+         */
+        Node(T data, int level) {
+            this.data = data;
+            this.next = newNodeArray(level);
+            this.span = new int[level];
+        }
+    }
+
+}
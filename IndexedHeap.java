@@ -0,0 +1,285 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+/**
+ * An indexed priority queue: a binary heap where every element is attached to an integer
+ * handle chosen by the caller (e.g. a vertex number in Dijkstra / A*).
+ * A position map from handle to heap slot is kept alongside the heap, so
+ * {@code contains}, {@code valueOf} run in O(1) and {@code changeKey}, {@code remove} run in O(log n).
+ * <p>
+ * Ordered by a {@code java.util.Comparator}; the lowest element is at the root. Use the natural
+ * ordering for MinHeap behaviour and {@code Comparator.reverseOrder()} for MaxHeap behaviour.
+ * Handles must be non-negative; the handle tables grow to fit the largest handle used.
+ * @param <T> the type of elements stored in the heap
+ * @author Taskin Saadman
+ * @see Heap
+ * @see KeyedHeap
+ */
+@SuppressWarnings("unchecked")
+public class IndexedHeap<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_HANDLE = Integer.MAX_VALUE - 9;   //handle tables can't exceed the max. array length
+
+    private int[] heap;         //heap slot -> handle
+    private int[] position;     //handle -> heap slot, -1 if the handle is not in the heap
+    private T[] values;         //handle -> element
+    private int size;
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Constructs an empty heap ordered by the elements' natural ordering.
+     */
+    public IndexedHeap() {
+        this((Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Constructs an empty heap ordered by {@code comparator}. The lowest element is at the root.
+     * @param comparator the ordering of the heap
+     * @throws NullPointerException if {@code comparator} is {@code null}
+     */
+    public IndexedHeap(Comparator<? super T> comparator) {
+        if (comparator == null) throw new NullPointerException("Comparator can't be null");
+        this.comparator = comparator;
+        heap = new int[DEFAULT_CAPACITY];
+        position = new int[DEFAULT_CAPACITY];
+        Arrays.fill(position, -1);
+        values = (T[]) new Object[DEFAULT_CAPACITY];   //typecasting warning suppressed
+    }
+
+    /**
+     * Returns the no. of elements stored in the heap
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a boolean based on whether the heap is empty or not
+     * @return true is heap is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether {@code handle} currently has an element in the heap. Runs in O(1).
+     * @param handle the handle to look up
+     * @return true if present, otherwise false
+     */
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < position.length && position[handle] != -1;
+    }
+
+    /**
+     * Returns the element attached to {@code handle}
+     * @param handle the handle to look up
+     * @return the element
+     * @throws NoSuchElementException if the handle is not in the heap
+     */
+    public T valueOf(int handle) {
+        checkPresent(handle);
+        return values[handle];
+    }
+
+    /**
+     * Inserts {@code value} under {@code handle} and bubbles it up to satisfy heap property.
+     * If the comparator throws, the heap is left unchanged.
+     * @param handle a non-negative handle that is not already in the heap
+     * @param value the value to be inserted into the heap
+     * @throws IndexOutOfBoundsException if {@code handle} is negative
+     * @throws IllegalArgumentException if {@code handle} is already in the heap or too large for the handle tables
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public void insert(int handle, T value) {
+        if (handle < 0) throw new IndexOutOfBoundsException("Handle can't be negative: " + handle);
+        if (handle > MAX_HANDLE) throw new IllegalArgumentException("Handle " + handle + " exceeds the maximum handle " + MAX_HANDLE);
+        if (value == null) throw new NullPointerException("Heap can't contain null elements");
+        if (contains(handle)) throw new IllegalArgumentException("Handle " + handle + " is already in the heap");
+
+        if (handle >= position.length) growHandles(handle + 1);
+        if (size == heap.length) heap = Arrays.copyOf(heap, heap.length * 2);
+
+        values[handle] = value;
+        try {
+            bubbleUp(size, handle);     //compares before moving anything
+        } catch (RuntimeException | Error e) {
+            values[handle] = null;
+            throw e;
+        }
+        size++;
+    }
+
+    /**
+     * Replaces the element attached to {@code handle} and moves it up or down as needed.
+     * Covers both decrease-key and increase-key. Runs in O(log n).
+     * @param handle the handle whose element changes
+     * @param value the new element
+     * @throws NoSuchElementException if the handle is not in the heap
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public void changeKey(int handle, T value) {
+        checkPresent(handle);
+        if (value == null) throw new NullPointerException("Heap can't contain null elements");
+
+        T old = values[handle];
+        values[handle] = value;
+        int slot = position[handle];
+        if (comparator.compare(value, old) < 0) bubbleUp(slot, handle);
+        else bubbleDown(slot, handle);
+    }
+
+    /**
+     * Removes the element attached to {@code handle} from anywhere in the heap. Runs in O(log n).
+     * @param handle the handle to remove
+     * @return the element that was attached to the handle
+     * @throws NoSuchElementException if the handle is not in the heap
+     */
+    public T remove(int handle) {
+        checkPresent(handle);
+        T removed = values[handle];
+        removeAtSlot(position[handle]);
+        return removed;
+    }
+
+    /**
+     * Returns the root value but does not pop it from the heap
+     * @return the value at the root
+     * @throws RuntimeException if heap is empty
+     */
+    public T peek() throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        return values[heap[0]];
+    }
+
+    /**
+     * Returns the handle of the root value without popping it
+     * @return the handle at the root
+     * @throws RuntimeException if heap is empty
+     */
+    public int peekHandle() throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        return heap[0];
+    }
+
+    /**
+     * Pops the value at the root and returns it.
+     * @return the element at the root of the heap
+     * @throws RuntimeException if heap is empty
+     */
+    public T poll() throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        T polled = values[heap[0]];
+        removeAtSlot(0);
+        return polled;
+    }
+
+    /**
+     * Pops the value at the root and returns its handle.
+     * @return the handle of the element that was at the root
+     * @throws RuntimeException if heap is empty
+     */
+    public int pollHandle() throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        int handle = heap[0];
+        removeAtSlot(0);
+        return handle;
+    }
+
+    /**
+     * Removes all elements from the heap, making it empty. Runs in O(size).
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+            values[heap[i]] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Removes the element in heap slot {@code slot}, refilling the hole with the last element.
+     * @param slot the heap slot to vacate
+     */
+    private void removeAtSlot(int slot) {
+        int handle = heap[slot];
+        int lastHandle = heap[--size];
+        position[handle] = -1;
+        values[handle] = null;  //let go of the reference so it can be garbage collected
+
+        if (slot == size) return;   //removed the last slot, nothing to refill
+        bubbleDown(slot, lastHandle);
+        if (heap[slot] == lastHandle) bubbleUp(slot, lastHandle);   //didn't move down, may need to move up
+    }
+
+    /**
+     * Bubble up logic: shifts parents down into the hole while {@code handle}'s element is lower.
+     * The final slot is found with comparisons only before anything moves, so a throwing
+     * comparator leaves the heap unchanged.
+     * @param i the index of the hole where the handle starts
+     * @param handle the handle being placed
+     */
+    private void bubbleUp(int i, int handle) {
+        T value = values[handle];
+        int target = i;
+        while (target > 0) {
+            int parentIndex = (target - 1) >>> 1;
+            if (comparator.compare(value, values[heap[parentIndex]]) >= 0) break;   //heap property satisfied
+            target = parentIndex;
+        }
+        while (i > target) {    //shift the parents on the path down one level
+            int parentIndex = (i - 1) >>> 1;
+            int parent = heap[parentIndex];
+            heap[i] = parent;
+            position[parent] = i;
+            i = parentIndex;
+        }
+        heap[i] = handle;
+        position[handle] = i;
+    }
+
+    /**
+     * Bubble down logic: shifts the lower child up into the hole while it is lower than {@code handle}'s element.
+     * @param i the index of the hole where the handle starts
+     * @param handle the handle being placed
+     */
+    private void bubbleDown(int i, int handle) {
+        T value = values[handle];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare(values[heap[right]], values[heap[child]]) < 0) child = right;
+            int best = heap[child];
+            if (comparator.compare(value, values[best]) <= 0) break;   //heap property satisfied
+            heap[i] = best;
+            position[best] = i;
+            i = child;
+        }
+        heap[i] = handle;
+        position[handle] = i;
+    }
+
+    /**
+     * Grows the handle tables so that {@code capacity - 1} is a valid handle.
+     * @param capacity the minimum table length
+     */
+    private void growHandles(int capacity) {
+        int oldLength = position.length;
+        int newLength = (int) Math.min(MAX_HANDLE + 1L, Math.max(capacity, oldLength * 2L));
+        position = Arrays.copyOf(position, newLength);
+        Arrays.fill(position, oldLength, newLength, -1);
+        values = Arrays.copyOf(values, newLength);
+    }
+
+    /**
+     * Throws if {@code handle} has no element in the heap
+     * @param handle the handle to check
+     * @throws NoSuchElementException if the handle is not in the heap
+     */
+    private void checkPresent(int handle) {
+        if (!contains(handle)) throw new NoSuchElementException("Handle " + handle + " is not in the heap");
+    }
+
+}
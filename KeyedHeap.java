@@ -0,0 +1,184 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+/**
+ * An indexed priority queue keyed by arbitrary objects: every key {@code K} has one priority
+ * {@code P}, and the key with the lowest priority sits at the root.
+ * Built on {@link IndexedHeap}: each key is assigned an internal integer handle through a
+ * {@code java.util.HashMap}, and freed handles are recycled, so
+ * {@code contains} and {@code priorityOf} run in O(1) and {@code changePriority}, {@code remove} in O(log n).
+ * @param <K> the type of keys, must have consistent {@code equals}/{@code hashCode}
+ * @param <P> the type of priorities
+ * @author Taskin Saadman
+ * @see IndexedHeap
+ */
+@SuppressWarnings("unchecked")
+public class KeyedHeap<K, P> {
+    private final IndexedHeap<P> heap;
+    private final HashMap<K, Integer> handles = new HashMap<K, Integer>();   //key -> handle
+    private K[] keys = (K[]) new Object[16];   //handle -> key
+    private int[] freeHandles = new int[16];   //stack of handles released by remove/poll
+    private int freeCount;
+    private int nextHandle;     //lowest handle never handed out yet
+
+    /**
+     * Constructs an empty heap ordered by the priorities' natural ordering.
+     */
+    public KeyedHeap() {
+        heap = new IndexedHeap<P>();
+    }
+
+    /**
+     * Constructs an empty heap ordered by {@code comparator}. The lowest priority is at the root.
+     * @param comparator the ordering of the priorities
+     */
+    public KeyedHeap(Comparator<? super P> comparator) {
+        heap = new IndexedHeap<P>(comparator);
+    }
+
+    /**
+     * Returns the no. of keys stored in the heap
+     * @return the size of the heap
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns a boolean based on whether the heap is empty or not
+     * @return true is heap is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Checks whether {@code key} is in the heap. Runs in O(1).
+     * @param key the key to look up
+     * @return true if present, otherwise false
+     */
+    public boolean contains(K key) {
+        return handles.containsKey(key);
+    }
+
+    /**
+     * Returns the priority currently attached to {@code key}
+     * @param key the key to look up
+     * @return the priority
+     * @throws NoSuchElementException if the key is not in the heap
+     */
+    public P priorityOf(K key) {
+        return heap.valueOf(handleOf(key));
+    }
+
+    /**
+     * Inserts {@code key} with {@code priority}. If the comparator throws, the heap is left unchanged.
+     * @param key the key to be inserted, must not already be in the heap
+     * @param priority the key's priority
+     * @throws IllegalArgumentException if {@code key} is already in the heap
+     * @throws NullPointerException if {@code key} or {@code priority} is {@code null}
+     */
+    public void insert(K key, P priority) {
+        if (key == null) throw new NullPointerException("Heap can't contain null keys");
+        if (priority == null) throw new NullPointerException("Heap can't contain null elements");
+        if (handles.containsKey(key)) throw new IllegalArgumentException("Key " + key + " is already in the heap");
+
+        boolean reused = freeCount > 0;
+        int handle = reused ? freeHandles[freeCount - 1] : nextHandle;
+        heap.insert(handle, priority);  //may throw from the comparator, so the handle is only claimed afterwards
+        if (reused) freeCount--;
+        else nextHandle++;
+
+        if (handle >= keys.length) keys = Arrays.copyOf(keys, keys.length * 2);
+        keys[handle] = key;
+        handles.put(key, handle);
+    }
+
+    /**
+     * Replaces the priority of {@code key}, moving it up or down as needed. Runs in O(log n).
+     * @param key the key whose priority changes
+     * @param priority the new priority
+     * @throws NoSuchElementException if the key is not in the heap
+     */
+    public void changePriority(K key, P priority) {
+        heap.changeKey(handleOf(key), priority);
+    }
+
+    /**
+     * Removes {@code key} from anywhere in the heap. Runs in O(log n).
+     * @param key the key to remove
+     * @return the priority that was attached to the key
+     * @throws NoSuchElementException if the key is not in the heap
+     */
+    public P remove(K key) {
+        int handle = handleOf(key);
+        P priority = heap.remove(handle);
+        release(handle);
+        return priority;
+    }
+
+    /**
+     * Returns the key with the lowest priority but does not pop it
+     * @return the key at the root
+     * @throws RuntimeException if heap is empty
+     */
+    public K peek() throws RuntimeException {
+        return keys[heap.peekHandle()];
+    }
+
+    /**
+     * Returns the lowest priority in the heap without popping it
+     * @return the priority at the root
+     * @throws RuntimeException if heap is empty
+     */
+    public P peekPriority() throws RuntimeException {
+        return heap.peek();
+    }
+
+    /**
+     * Pops the key with the lowest priority and returns it.
+     * @return the key at the root of the heap
+     * @throws RuntimeException if heap is empty
+     */
+    public K poll() throws RuntimeException {
+        int handle = heap.pollHandle();
+        K key = keys[handle];
+        release(handle);
+        return key;
+    }
+
+    /**
+     * Removes all keys from the heap, making it empty.
+     */
+    public void clear() {
+        heap.clear();
+        handles.clear();
+        Arrays.fill(keys, 0, nextHandle, null);
+        freeCount = nextHandle = 0;
+    }
+
+    /**
+     * Looks up the handle of {@code key}
+     * @param key the key to look up
+     * @return the key's handle
+     * @throws NoSuchElementException if the key is not in the heap
+     */
+    private int handleOf(K key) {
+        Integer handle = handles.get(key);
+        if (handle == null) throw new NoSuchElementException("Key " + key + " is not in the heap");
+        return handle;
+    }
+
+    /**
+     * Forgets the key attached to {@code handle} and makes the handle available for reuse.
+     * @param handle the handle to release
+     */
+    private void release(int handle) {
+        handles.remove(keys[handle]);
+        keys[handle] = null;
+        if (freeCount == freeHandles.length) freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        freeHandles[freeCount++] = handle;
+    }
+
+}
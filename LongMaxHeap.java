@@ -0,0 +1,148 @@
+import java.util.Arrays;
+/**
+ * A MaxHeap Priority Queue specialized for primitive {@code long} values.
+ * Stores the values directly in a {@code long[]} instead of boxing them, so no objects are
+ * allocated per {@code insert()} or {@code poll()} once the array has grown to its working size.
+ * Comparisons are plain {@code >} on primitives rather than {@code compareTo} calls.
+ * @author Taskin Saadman
+ * @see MaxHeap
+ */
+public class LongMaxHeap {
+    private long[] heap;
+    private int size;
+
+    /**
+     * Constructs an empty heap with an initial capacity of 16.
+     */
+    public LongMaxHeap() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty heap able to hold {@code initialCapacity} values before it has to grow.
+     * @param initialCapacity the initial length of the internal array
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public LongMaxHeap(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity can't be negative: " + initialCapacity);
+        heap = new long[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Returns the no. of elements stored in the heap
+     * @return the size of the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a boolean based on whether the heap is empty or not
+     * @return true is heap is empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a boolean based on whether a specific value exists in the heap
+     * @param value the value to be searched for
+     * @return true if found, otherwise false
+     */
+    public boolean contains(long value) {
+        for (int i = 0; i < size; i++) {
+            if (heap[i] == value) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the root value but does not pop it from the array
+     * @return the value at the root
+     * @throws RuntimeException if heap is empty
+     */
+    public long peek() throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        return heap[0];
+    }
+
+    /**
+     * Pops the value at the root and returns it.
+     * Moves the last value into the root and bubbles it down until heap property satisfied.
+     * @return the value at the root of the MaxHeap
+     * @throws RuntimeException if heap is empty
+     */
+    public long poll() throws RuntimeException {
+        if (size == 0) throw new RuntimeException("Heap is empty!");
+        long polled = heap[0];  //return later
+        size--;
+        if (size > 0) bubbleDown(0, heap[size]);    //re-seat the old last value starting from root
+        return polled;
+    }
+
+    /**
+     * Inserts a new value to the end of the internal array, then
+     * utilizes the bubble up method to satisfy heap property.
+     * @param value the value to be inserted into the heap
+     */
+    public void insert(long value) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, heap.length * 2);    //if no more capacity, double the array
+        bubbleUp(size++, value);
+    }
+
+    /**
+     * Removes all elements from the heap, making it empty.
+     * Runs in O(1) time; the internal array is kept for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns a copy of the heap's values in internal (level) order.
+     * @return a new array of length {@link #size()}
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    /**
+     * Bubble up logic when a value is inserted.
+     * Parents are shifted down into the hole instead of swapped, and {@code value} is written once.
+     * @param i the index of the hole where the value starts
+     * @param value the value being inserted
+     */
+    private void bubbleUp(int i, long value) {
+        long[] heap = this.heap;
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            long parent = heap[parentIndex];
+            if (!(value > parent)) break;   //heap property satisfied
+            heap[i] = parent;
+            i = parentIndex;
+        }
+        heap[i] = value;
+    }
+
+    /**
+     * Bubble down logic when poll() is called.
+     * Children are shifted up into the hole instead of swapped, and {@code value} is written once.
+     * @param i the index of the hole where the value starts
+     * @param value the value being re-seated
+     */
+    private void bubbleDown(int i, long value) {
+        long[] heap = this.heap;
+        int half = size >>> 1;  //nodes at or past half are leaves
+        while (i < half) {
+            int child = 2 * i + 1;
+            long best = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right] > best) best = heap[child = right];
+            if (!(best > value)) break;   //heap property satisfied
+            heap[i] = best;
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+}
@@ -0,0 +1,434 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+/**
+ * A persistent dynamic array of fixed-width records backed by a memory-mapped file.
+ * Reopening an existing file only reads and verifies a 32-byte header, so it takes O(1) time
+ * regardless of how many records the file holds.
+ * <p>
+ * File layout: a header followed by {@code capacity} records. Like {@link DynamicArray#add(Object)},
+ * {@code add()} doubles the capacity when it is full, here by extending the file and remapping it.
+ * <pre>
+ *  offset  0  int   magic
+ *  offset  4  int   format version
+ *  offset  8  int   record width in bytes
+ *  offset 12  int   reserved
+ *  offset 16  long  size (no. of records)
+ *  offset 24  long  CRC32 of bytes 0..23
+ * </pre>
+ * The header is written by {@link #force()} and {@link #close()}. After a crash the file reopens
+ * with the size from the last successful {@code force()}. A single mapping is used, so the file is
+ * limited to 2 GiB.
+ *
+ * @author Taskin Saadman
+ * @see OffHeapDynamicArray
+ */
+public class MappedDynamicArray implements AutoCloseable {
+
+    private static final int MAGIC = 0x44594E41;   //"DYNA"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int INITIAL_CAPACITY = 10;
+
+    private final FileChannel channel;
+    private final int recordWidth;
+    private MappedByteBuffer buffer;   //maps the header and every record slot
+    private int capacity;   //no. of record slots in the file
+    private int size;       //no. of records inside
+    private boolean closed;
+
+
+    /**
+     * Opens {@code path} as a persistent array of {@code recordWidth}-byte records, creating the
+     * file if it doesn't exist. An existing file is validated through its header only.
+     *
+     * @param path the backing file
+     * @param recordWidth the size of one record in bytes
+     * @return the opened array
+     * @throws IOException if the file can't be opened or mapped, or its header is invalid
+     * @throws IllegalArgumentException if {@code recordWidth} is smaller than 1
+     */
+    public static MappedDynamicArray open(Path path, int recordWidth) throws IOException {
+        if (recordWidth < 1) throw new IllegalArgumentException("Record width must be positive: " + recordWidth);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            return new MappedDynamicArray(channel, recordWidth);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Maps a new or existing file.
+     *
+     * @param channel an open read-write channel
+     * @param recordWidth the size of one record in bytes
+     * @throws IOException if the file can't be mapped or its header is invalid
+     */
+    private MappedDynamicArray(FileChannel channel, int recordWidth) throws IOException {
+        this.channel = channel;
+        this.recordWidth = recordWidth;
+
+        long fileSize = channel.size();
+        if (fileSize == 0) {    //new file
+            map(INITIAL_CAPACITY);
+            writeHeader();
+            return;
+        }
+
+        if (fileSize < HEADER_BYTES) throw new IOException("File too small to hold a header: " + fileSize + " bytes");
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) throw new IOException("Unexpected end of file while reading header");
+        }
+        header.flip();
+
+        if (header.getInt(0) != MAGIC) throw new IOException("Not a MappedDynamicArray file");
+        if (header.getInt(4) != VERSION) throw new IOException("Unsupported format version " + header.getInt(4));
+        if (header.getLong(24) != checksum(header)) throw new IOException("Header checksum mismatch");
+        if (header.getInt(8) != recordWidth) throw new IOException("File holds " + header.getInt(8) + "-byte records, not " + recordWidth);
+
+        long slots = (fileSize - HEADER_BYTES) / recordWidth;
+        long storedSize = header.getLong(16);
+        if (storedSize < 0 || storedSize > slots) throw new IOException("Recorded size " + storedSize + " exceeds file capacity " + slots);
+
+        map((int) Math.min(Math.max(slots, INITIAL_CAPACITY), maxCapacity()));
+        size = (int) storedSize;
+    }
+
+
+    /**
+     * Returns the number of records currently stored.
+     *
+     * @return the current size of the array
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Returns the number of record slots in the file.
+     *
+     * @return the current capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+
+    /**
+     * Returns the size of one record in bytes.
+     *
+     * @return the record width
+     */
+    public int recordWidth() {
+        return recordWidth;
+    }
+
+
+    /**
+     * Appends a zero-filled record and returns its index.
+     * If the file is full, its capacity is doubled and it is remapped.
+     *
+     * @return the index of the new record
+     * @throws IOException if the file can't be extended
+     */
+    public int add() throws IOException {
+        checkOpen();
+        if (size == capacity) grow();
+        clearRecord(HEADER_BYTES + size * recordWidth);    //slot may hold a popped record, even one from an earlier session
+        return size++;
+    }
+
+
+    /**
+     * Appends a record copied from {@code record}.
+     *
+     * @param record exactly {@code recordWidth()} bytes
+     * @return the index of the new record
+     * @throws IOException if the file can't be extended
+     * @throws IllegalArgumentException if {@code record} has the wrong length
+     */
+    public int add(byte[] record) throws IOException {
+        if (record.length != recordWidth) throw new IllegalArgumentException("Record must be " + recordWidth + " bytes, got " + record.length);
+        checkOpen();
+        if (size == capacity) grow();
+        size++;
+        set(size - 1, record);
+        return size - 1;
+    }
+
+
+    /**
+     * Copies the record at {@code index} into {@code destination}.
+     *
+     * @param index the record index
+     * @param destination an array of at least {@code recordWidth()} bytes
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void get(int index, byte[] destination) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(positionOf(index, 0, recordWidth));
+        view.get(destination, 0, recordWidth);
+    }
+
+
+    /**
+     * Overwrites the record at {@code index} with {@code source}.
+     *
+     * @param index the record index
+     * @param source an array of at least {@code recordWidth()} bytes
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void set(int index, byte[] source) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(positionOf(index, 0, recordWidth));
+        view.put(source, 0, recordWidth);
+    }
+
+
+    /**
+     * Reads a byte field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the field value
+     */
+    public byte getByte(int index, int offset) {
+        return buffer.get(positionOf(index, offset, 1));
+    }
+
+    /**
+     * Writes a byte field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param value the new field value
+     */
+    public void putByte(int index, int offset, byte value) {
+        buffer.put(positionOf(index, offset, 1), value);
+    }
+
+    /**
+     * Reads an int field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the field value
+     */
+    public int getInt(int index, int offset) {
+        return buffer.getInt(positionOf(index, offset, 4));
+    }
+
+    /**
+     * Writes an int field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param value the new field value
+     */
+    public void putInt(int index, int offset, int value) {
+        buffer.putInt(positionOf(index, offset, 4), value);
+    }
+
+    /**
+     * Reads a long field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the field value
+     */
+    public long getLong(int index, int offset) {
+        return buffer.getLong(positionOf(index, offset, 8));
+    }
+
+    /**
+     * Writes a long field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param value the new field value
+     */
+    public void putLong(int index, int offset, long value) {
+        buffer.putLong(positionOf(index, offset, 8), value);
+    }
+
+    /**
+     * Reads a double field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the field value
+     */
+    public double getDouble(int index, int offset) {
+        return buffer.getDouble(positionOf(index, offset, 8));
+    }
+
+    /**
+     * Writes a double field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param value the new field value
+     */
+    public void putDouble(int index, int offset, double value) {
+        buffer.putDouble(positionOf(index, offset, 8), value);
+    }
+
+
+    /**
+     * Removes the last record.
+     *
+     * @throws IndexOutOfBoundsException if the array is empty
+     */
+    public void pop() {
+        checkOpen();
+        if (size == 0) throw new IndexOutOfBoundsException("Can't pop from an empty array.");
+        size--;
+    }
+
+
+    /**
+     * Resets the size to 0. The file keeps its capacity.
+     */
+    public void clear() {
+        checkOpen();
+        size = 0;
+    }
+
+
+    /**
+     * Writes the header and flushes every modified page to the storage device.
+     * Until this is called, records appended since the last {@code force()} may be lost on a crash.
+     */
+    public void force() {
+        checkOpen();
+        writeHeader();
+        buffer.force();
+    }
+
+
+    /**
+     * Forces the file, unmaps it and closes the channel. Calling {@code close()} again has no effect.
+     * The mapping and the channel are released even if forcing fails.
+     *
+     * @throws IOException if the channel can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        try {
+            force();
+        } finally {
+            closed = true;
+            BufferCleaner.free(buffer);
+            buffer = null;
+            channel.close();
+        }
+    }
+
+
+    /**
+     * Doubles the capacity: extends the file, maps the larger region and only then unmaps the old one.
+     * If mapping fails, the old mapping stays in place and the array remains usable.
+     * @throws IOException if the file can't be remapped
+     * @throws IllegalStateException if the file would exceed the single-mapping limit
+     */
+    private void grow() throws IOException {
+        if (capacity == maxCapacity()) throw new IllegalStateException("Array reached the 2 GiB mapping limit.");
+        int newCapacity = (int) Math.min((long) capacity * 2, maxCapacity());
+        MappedByteBuffer old = buffer;
+        map(newCapacity);   //replaces buffer only once the new mapping exists
+        BufferCleaner.free(old);
+    }
+
+
+    /**
+     * Zeroes one record, eight bytes at a time.
+     * @param base the record's byte position inside the mapping
+     */
+    private void clearRecord(int base) {
+        int end = base + recordWidth;
+        int i = base;
+        for (; i + 8 <= end; i += 8) buffer.putLong(i, 0L);
+        if (i + 4 <= end) { buffer.putInt(i, 0); i += 4; }
+        for (; i < end; i++) buffer.put(i, (byte) 0);
+    }
+
+
+    /**
+     * Maps the header plus {@code slots} records, extending the file if needed.
+     * {@code buffer} and {@code capacity} are only updated once the mapping succeeded.
+     * @param slots the number of record slots to map
+     * @throws IOException if the mapping fails
+     */
+    private void map(int slots) throws IOException {
+        long bytes = HEADER_BYTES + (long) slots * recordWidth;
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        buffer = mapped;
+        capacity = slots;
+    }
+
+
+    /**
+     * Writes magic, version, width, size and checksum into the mapped header.
+     */
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, recordWidth);
+        buffer.putInt(12, 0);
+        buffer.putLong(16, size);
+        buffer.putLong(24, checksum(buffer));
+    }
+
+
+    /**
+     * Computes the CRC32 of the first 24 header bytes.
+     * @param header a buffer starting with the header
+     * @return the checksum
+     */
+    private static long checksum(ByteBuffer header) {
+        CRC32 crc = new CRC32();
+        ByteBuffer fields = header.duplicate();
+        fields.position(0).limit(24);
+        crc.update(fields);
+        return crc.getValue();
+    }
+
+
+    /**
+     * Returns the largest capacity that fits in a single 2 GiB mapping.
+     * @return the maximum no. of records
+     */
+    private int maxCapacity() {
+        return (Integer.MAX_VALUE - HEADER_BYTES) / recordWidth;
+    }
+
+
+    /**
+     * Checks the index and field bounds and returns the field's position in the mapping.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param fieldWidth the field's size in bytes
+     * @return the byte position inside the mapping
+     * @throws IndexOutOfBoundsException if the index or the field is out of bounds
+     */
+    private int positionOf(int index, int offset, int fieldWidth) {
+        checkOpen();
+        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+        if (offset < 0 || offset > recordWidth - fieldWidth) throw new IndexOutOfBoundsException("Field at offset " + offset + " doesn't fit in a " + recordWidth + "-byte record.");
+        return HEADER_BYTES + index * recordWidth + offset;
+    }
+
+
+    /**
+     * Throws if the array has been closed.
+     * @throws IllegalStateException if {@code close()} was called
+     */
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("Array has been closed.");
+    }
+
+}
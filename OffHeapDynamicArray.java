@@ -0,0 +1,482 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+/**
+ * A dynamic array of fixed-width records stored outside the Java heap, in direct {@code ByteBuffer}s.
+ * The garbage collector only sees a handful of chunk objects no matter how many records there are,
+ * and indexes are {@code long}, so the array can grow well past 2^31 records.
+ * <p>
+ * Records live in equally sized chunks of native memory. Growing never copies records: a new chunk
+ * is allocated when the last one fills up, and only the small table of chunk references is doubled,
+ * the same way {@link DynamicArray#add(Object)} doubles its array.
+ * <p>
+ * Fields are read and written in place through {@code getInt/putInt}, {@code getLong/putLong} etc. with a
+ * byte offset inside the record, or through a reusable {@link Cursor} flyweight. Native memory is
+ * released by {@link #close()}; the array can't be used afterwards.
+ *
+ * @author Taskin Saadman
+ * @see DynamicArray
+ */
+public class OffHeapDynamicArray implements AutoCloseable {
+
+    private static final int DEFAULT_CHUNK_BYTES = 1 << 20;    //1 MiB per chunk by default
+
+    private final int recordWidth;      //bytes per record
+    private final int chunkShift;       //log2 of records per chunk
+    private final long chunkMask;       //records per chunk - 1
+    private ByteBuffer[] chunks;        //chunk table, doubled like DynamicArray's array
+    private int chunkCount;             //no. of chunks allocated so far
+    private long size;                  //no. of records inside
+    private long written;               //records from this index on were never used, still zeroed by allocateDirect
+    private boolean closed;
+
+
+    /**
+     * Creates an empty array of {@code recordWidth}-byte records using chunks of about 1 MiB.
+     *
+     * @param recordWidth the size of one record in bytes
+     * @throws IllegalArgumentException if {@code recordWidth} is smaller than 1
+     */
+    public OffHeapDynamicArray(int recordWidth) {
+        this(recordWidth, Math.max(1, DEFAULT_CHUNK_BYTES / Math.max(1, recordWidth)));
+    }
+
+
+    /**
+     * Creates an empty array of {@code recordWidth}-byte records with {@code chunkRecords} records per chunk.
+     * {@code chunkRecords} is rounded down to a power of two.
+     *
+     * @param recordWidth the size of one record in bytes
+     * @param chunkRecords the number of records per chunk of native memory
+     * @throws IllegalArgumentException if an argument is smaller than 1 or a chunk would exceed 2 GiB
+     */
+    public OffHeapDynamicArray(int recordWidth, int chunkRecords) {
+        if (recordWidth < 1) throw new IllegalArgumentException("Record width must be positive: " + recordWidth);
+        if (chunkRecords < 1) throw new IllegalArgumentException("Records per chunk must be positive: " + chunkRecords);
+        int records = Integer.highestOneBit(chunkRecords);
+        if ((long) records * recordWidth > Integer.MAX_VALUE) throw new IllegalArgumentException("Chunk too large: " + records + " x " + recordWidth + " bytes");
+
+        this.recordWidth = recordWidth;
+        this.chunkShift = Integer.numberOfTrailingZeros(records);
+        this.chunkMask = records - 1;
+        this.chunks = new ByteBuffer[8];
+    }
+
+
+    /**
+     * Returns the number of records currently stored.
+     *
+     * @return the current size of the array
+     */
+    public long size() {
+        return size;
+    }
+
+
+    /**
+     * Returns the number of records that fit in the chunks allocated so far.
+     *
+     * @return the current capacity
+     */
+    public long capacity() {
+        return (long) chunkCount << chunkShift;
+    }
+
+
+    /**
+     * Returns the size of one record in bytes.
+     *
+     * @return the record width
+     */
+    public int recordWidth() {
+        return recordWidth;
+    }
+
+
+    /**
+     * Appends a zero-filled record and returns its index. Fill it in with the {@code put} methods.
+     *
+     * @return the index of the new record
+     * @throws IllegalStateException if the array has been closed
+     */
+    public long add() {
+        checkOpen();
+        if (size == capacity()) addChunk();
+        long index = size++;
+        if (index < written) {      //slot held a popped record, clear it
+            clearRecord(chunks[(int) (index >>> chunkShift)], (int) (index & chunkMask) * recordWidth);
+        } else {
+            written = index + 1;
+        }
+        return index;
+    }
+
+
+    /**
+     * Appends a record copied from {@code record}.
+     *
+     * @param record exactly {@code recordWidth()} bytes
+     * @return the index of the new record
+     * @throws IllegalArgumentException if {@code record} has the wrong length
+     */
+    public long add(byte[] record) {
+        if (record.length != recordWidth) throw new IllegalArgumentException("Record must be " + recordWidth + " bytes, got " + record.length);
+        checkOpen();
+        if (size == capacity()) addChunk();
+        long index = size++;
+        if (index >= written) written = index + 1;
+        set(index, record);
+        return index;
+    }
+
+
+    /**
+     * Copies the record at {@code index} into {@code destination}.
+     *
+     * @param index the record index
+     * @param destination an array of at least {@code recordWidth()} bytes
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void get(long index, byte[] destination) {
+        checkIndex(index);
+        ByteBuffer chunk = chunks[(int) (index >>> chunkShift)].duplicate();
+        chunk.position((int) (index & chunkMask) * recordWidth);
+        chunk.get(destination, 0, recordWidth);
+    }
+
+
+    /**
+     * Overwrites the record at {@code index} with {@code source}.
+     *
+     * @param index the record index
+     * @param source an array of at least {@code recordWidth()} bytes
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void set(long index, byte[] source) {
+        checkIndex(index);
+        ByteBuffer chunk = chunks[(int) (index >>> chunkShift)].duplicate();
+        chunk.position((int) (index & chunkMask) * recordWidth);
+        chunk.put(source, 0, recordWidth);
+    }
+
+
+    /**
+     * Reads a byte field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the field value
+     */
+    public byte getByte(long index, int offset) {
+        return chunkOf(index, offset, 1).get(positionOf(index, offset));
+    }
+
+    /**
+     * Writes a byte field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param value the new field value
+     */
+    public void putByte(long index, int offset, byte value) {
+        chunkOf(index, offset, 1).put(positionOf(index, offset), value);
+    }
+
+    /**
+     * Reads an int field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the field value
+     */
+    public int getInt(long index, int offset) {
+        return chunkOf(index, offset, 4).getInt(positionOf(index, offset));
+    }
+
+    /**
+     * Writes an int field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param value the new field value
+     */
+    public void putInt(long index, int offset, int value) {
+        chunkOf(index, offset, 4).putInt(positionOf(index, offset), value);
+    }
+
+    /**
+     * Reads a long field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the field value
+     */
+    public long getLong(long index, int offset) {
+        return chunkOf(index, offset, 8).getLong(positionOf(index, offset));
+    }
+
+    /**
+     * Writes a long field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param value the new field value
+     */
+    public void putLong(long index, int offset, long value) {
+        chunkOf(index, offset, 8).putLong(positionOf(index, offset), value);
+    }
+
+    /**
+     * Reads a double field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the field value
+     */
+    public double getDouble(long index, int offset) {
+        return chunkOf(index, offset, 8).getDouble(positionOf(index, offset));
+    }
+
+    /**
+     * Writes a double field of the record at {@code index}.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param value the new field value
+     */
+    public void putDouble(long index, int offset, double value) {
+        chunkOf(index, offset, 8).putDouble(positionOf(index, offset), value);
+    }
+
+
+    /**
+     * Removes the last record. Its memory is kept for the next {@code add()}.
+     *
+     * @throws IndexOutOfBoundsException if the array is empty
+     */
+    public void pop() {
+        checkOpen();
+        if (size == 0) throw new IndexOutOfBoundsException("Can't pop from an empty array.");
+        size--;
+    }
+
+
+    /**
+     * Resets the size to 0. Allocated chunks are kept for reuse.
+     */
+    public void clear() {
+        checkOpen();
+        size = 0;
+    }
+
+
+    /**
+     * Returns a new flyweight cursor over this array. A cursor is moved with {@link Cursor#moveTo(long)}
+     * and reads fields of the record it points at, so scanning allocates nothing per record.
+     *
+     * @return a cursor positioned at index 0
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+
+    /**
+     * Releases all native memory. Further use of the array throws {@code IllegalStateException}.
+     * Calling {@code close()} more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (int i = 0; i < chunkCount; i++) {
+            BufferCleaner.free(chunks[i]);
+            chunks[i] = null;
+        }
+        chunkCount = 0;
+        size = 0;
+        written = 0;
+    }
+
+
+    /**
+     * Zeroes one record, eight bytes at a time.
+     * @param chunk the chunk holding the record
+     * @param base the record's byte position inside the chunk
+     */
+    private void clearRecord(ByteBuffer chunk, int base) {
+        int end = base + recordWidth;
+        int i = base;
+        for (; i + 8 <= end; i += 8) chunk.putLong(i, 0L);
+        if (i + 4 <= end) { chunk.putInt(i, 0); i += 4; }
+        for (; i < end; i++) chunk.put(i, (byte) 0);
+    }
+
+
+    /**
+     * Allocates one more chunk, doubling the chunk table first if it is full.
+     */
+    private void addChunk() {
+        if (chunkCount == chunks.length) chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        ByteBuffer chunk = ByteBuffer.allocateDirect((int) ((chunkMask + 1) * recordWidth));
+        chunk.order(ByteOrder.nativeOrder());
+        chunks[chunkCount++] = chunk;
+    }
+
+
+    /**
+     * Checks the index and field bounds and returns the chunk holding the record.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @param fieldWidth the field's size in bytes
+     * @return the chunk holding the record
+     * @throws IndexOutOfBoundsException if the index or the field is out of bounds
+     */
+    private ByteBuffer chunkOf(long index, int offset, int fieldWidth) {
+        checkIndex(index);
+        if (offset < 0 || offset > recordWidth - fieldWidth) throw new IndexOutOfBoundsException("Field at offset " + offset + " doesn't fit in a " + recordWidth + "-byte record.");
+        return chunks[(int) (index >>> chunkShift)];
+    }
+
+
+    /**
+     * Returns the byte position of a field inside the record's chunk.
+     * @param index the record index
+     * @param offset the field's byte offset inside the record
+     * @return the byte position inside the chunk
+     */
+    private int positionOf(long index, int offset) {
+        return (int) (index & chunkMask) * recordWidth + offset;
+    }
+
+
+    /**
+     * Throws if the array is closed or {@code index} is not a valid record index.
+     * @param index the record index
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    private void checkIndex(long index) {
+        checkOpen();
+        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+    }
+
+
+    /**
+     * Throws if the array has been closed.
+     * @throws IllegalStateException if {@code close()} was called
+     */
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("Array has been closed.");
+    }
+
+
+    /**
+     * A reusable view of one record. Moving the cursor only changes two ints, so a scan over
+     * millions of records allocates nothing.
+     */
+    public class Cursor {
+        private ByteBuffer chunk;
+        private int base;       //byte position of the record inside chunk
+        private long index = -1;
+
+        /**
+         * Points the cursor at the record at {@code index}.
+         * @param index the record index
+         * @return this cursor
+         * @throws IndexOutOfBoundsException if index is out of bounds
+         */
+        public Cursor moveTo(long index) {
+            checkIndex(index);
+            this.chunk = chunks[(int) (index >>> chunkShift)];
+            this.base = (int) (index & chunkMask) * recordWidth;
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Returns the index the cursor points at
+         * @return the current index, or -1 if the cursor hasn't been moved yet
+         */
+        public long index() {
+            return index;
+        }
+
+        /**
+         * Reads a byte field of the current record.
+         * @param offset the field's byte offset inside the record
+         * @return the field value
+         */
+        public byte getByte(int offset) {
+            return chunk.get(fieldPosition(offset, 1));
+        }
+
+        /**
+         * Writes a byte field of the current record.
+         * @param offset the field's byte offset inside the record
+         * @param value the new field value
+         */
+        public void putByte(int offset, byte value) {
+            chunk.put(fieldPosition(offset, 1), value);
+        }
+
+        /**
+         * Reads a int field of the current record.
+         * @param offset the field's byte offset inside the record
+         * @return the field value
+         */
+        public int getInt(int offset) {
+            return chunk.getInt(fieldPosition(offset, 4));
+        }
+
+        /**
+         * Writes a int field of the current record.
+         * @param offset the field's byte offset inside the record
+         * @param value the new field value
+         */
+        public void putInt(int offset, int value) {
+            chunk.putInt(fieldPosition(offset, 4), value);
+        }
+
+        /**
+         * Reads a long field of the current record.
+         * @param offset the field's byte offset inside the record
+         * @return the field value
+         */
+        public long getLong(int offset) {
+            return chunk.getLong(fieldPosition(offset, 8));
+        }
+
+        /**
+         * Writes a long field of the current record.
+         * @param offset the field's byte offset inside the record
+         * @param value the new field value
+         */
+        public void putLong(int offset, long value) {
+            chunk.putLong(fieldPosition(offset, 8), value);
+        }
+
+        /**
+         * Reads a double field of the current record.
+         * @param offset the field's byte offset inside the record
+         * @return the field value
+         */
+        public double getDouble(int offset) {
+            return chunk.getDouble(fieldPosition(offset, 8));
+        }
+
+        /**
+         * Writes a double field of the current record.
+         * @param offset the field's byte offset inside the record
+         * @param value the new field value
+         */
+        public void putDouble(int offset, double value) {
+            chunk.putDouble(fieldPosition(offset, 8), value);
+        }
+
+        /**
+         * Checks that the field fits in the record and returns its position inside the chunk.
+         * @param offset the field's byte offset inside the record
+         * @param fieldWidth the field's size in bytes
+         * @return the byte position of the field
+         */
+        private int fieldPosition(int offset, int fieldWidth) {
+            if (chunk == null) throw new IllegalStateException("Cursor hasn't been moved to a record yet.");
+            checkOpen();
+            if (offset < 0 || offset > recordWidth - fieldWidth) throw new IndexOutOfBoundsException("Field at offset " + offset + " doesn't fit in a " + recordWidth + "-byte record.");
+            return base + offset;
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+import java.util.concurrent.atomic.AtomicLong;
+/**
+ * An {@code AtomicLong} that fills the rest of its cache line so that two counters never share one.
+ * Used for the head and tail counters of {@link ConcurrentQueue} and {@link SpscQueue}.
+ * <p>
+ * The padding is one-sided: it follows the value, since {@code AtomicLong} places the value
+ * first and nothing can be put in front of it. The counters are allocated one after another,
+ * so each one's trailing padding also shields the value of the next.
+ *
+ * @author Taskin Saadman
+ */
+@SuppressWarnings({"unused", "serial"})
+final class PaddedCounter extends AtomicLong {
+    long p1, p2, p3, p4, p5, p6, p7;
+}
@@ -1,72 +1,263 @@
 import java.util.*;
 /**
- * A generic implementation of the Queue ADT using Java's built-in {@code LinkedList}
+ * A generic implementation of the Queue ADT using a growable circular array.
+ * The capacity of the internal array is always a power of two so that wrapping an index
+ * around the end of the array is a single bitwise AND instead of a modulo.
+ * No objects are allocated per {@code enqueue()} or {@code dequeue()} call; the array is
+ * only reallocated when the queue needs to grow or when {@code shrink()} is called.
  * @author Taskin Saadman
  */
+@SuppressWarnings("unchecked")
 public class Queue<T> implements Iterable<T> {
-    private List<T> queue = new LinkedList<T>();
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;    //largest int power of two
+
+    private T[] queue;    //circular buffer, length is always a power of two
+    private int head;     //index of the front element
+    private int size;     //no. of elements inside
+    private int mask;     //queue.length - 1, used to wrap indices around
+    private int modCount; //no. of structural modifications, checked by iterators
+
+    /**
+     * Constructs an empty queue with an initial capacity of 16.
+     */
+    public Queue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty queue able to hold at least {@code initialCapacity} elements
+     * before it has to grow.
+     *
+     * @param initialCapacity the minimum initial capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public Queue(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity can't be negative: " + initialCapacity);
+        queue = (T[]) new Object[roundUpToPowerOfTwo(initialCapacity)];   //typecasting warning suppressed
+        mask = queue.length - 1;
+    }
 
     /**
      * Adds an element to the rear of the queue.
-     * 
+     *
      * @param value the element to be added to the queue
+     * @throws IllegalStateException if the queue already holds 2^30 elements
      */
     public void enqueue(T value) {
-        queue.add(value);
+        if (size == queue.length) resize(grownCapacity(size + 1L));   //if no more capacity, double the array
+        queue[(head + size) & mask] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds every element of {@code values} to the rear of the queue, in iteration order.
+     * The capacity is grown at most once when the number of elements is known up front.
+     * Enqueueing a queue into itself appends one copy of its current contents.
+     *
+     * @param values the elements to be added to the queue
+     * @throws IllegalStateException if the queue would hold more than 2^30 elements
+     */
+    public void enqueueAll(Iterable<? extends T> values) {
+        if (values == this) {   //the iterator would keep seeing the growing size, append a fixed count instead
+            int count = size;
+            if (size + (long) count > queue.length) resize(grownCapacity(size + (long) count));
+            for (int i = 0; i < count; i++) enqueue(queue[(head + i) & mask]);
+            return;
+        }
+        if (values instanceof Collection) {
+            long required = size + (long) ((Collection<?>) values).size();
+            if (required > queue.length) resize(grownCapacity(required));
+        }
+        for (T value : values) enqueue(value);
+    }
+
+    /**
+     * Adds every element of {@code values} to the rear of the queue, in array order.
+     * Copies are done with at most two {@code System.arraycopy} calls.
+     *
+     * @param values the elements to be added to the queue
+     * @throws IllegalStateException if the queue would hold more than 2^30 elements
+     */
+    public void enqueueAll(T[] values) {
+        long required = size + (long) values.length;
+        if (required > queue.length) resize(grownCapacity(required));
+
+        int tail = (head + size) & mask;
+        int firstPart = Math.min(values.length, queue.length - tail);   //slots before the array wraps
+        System.arraycopy(values, 0, queue, tail, firstPart);
+        System.arraycopy(values, firstPart, queue, 0, values.length - firstPart);
+        size = (int) required;
+        modCount++;
     }
 
     /**
      * Removes and returns the element at the front of the queue.
-     * 
+     *
      * @return the element at the front of the queue
      * @throws RuntimeException if the queue is empty
      */
     public T dequeue() throws RuntimeException {
-        if (queue.size() == 0) throw new RuntimeException("Queue is empty!");
-        T retVal = queue.get(0);
-        queue.remove(0);
+        if (size == 0) throw new RuntimeException("Queue is empty!");
+        T retVal = queue[head];
+        queue[head] = null;     //let go of the reference so it can be garbage collected
+        head = (head + 1) & mask;
+        size--;
+        modCount++;
         return retVal;
     }
 
+    /**
+     * Removes every element from the queue and adds it to {@code target} in FIFO order.
+     *
+     * @param target the collection that receives the elements
+     * @return the number of elements transferred
+     */
+    public int drainTo(Collection<? super T> target) {
+        return drainTo(target, size);
+    }
+
+    /**
+     * Removes at most {@code maxElements} elements from the front of the queue and adds
+     * them to {@code target} in FIFO order.
+     *
+     * @param target the collection that receives the elements
+     * @param maxElements the maximum number of elements to transfer
+     * @return the number of elements transferred
+     * @throws IllegalArgumentException if {@code maxElements} is negative
+     */
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        if (maxElements < 0) throw new IllegalArgumentException("maxElements can't be negative: " + maxElements);
+        int count = Math.min(maxElements, size);
+        for (int i = 0; i < count; i++) {
+            target.add(queue[head]);
+            queue[head] = null;
+            head = (head + 1) & mask;
+            size--;     //per element, so a throwing target leaves the queue consistent
+            modCount++;
+        }
+        return count;
+    }
+
     /**
      * Returns the element at the front of the queue without removing it.
-     * 
+     *
      * @return the element at the front of the queue
      * @throws RuntimeException if the queue is empty
      */
     public T peek() throws RuntimeException {
-        if (queue.size() == 0) throw new RuntimeException("Queue is empty!");
-        return queue.get(0);
+        if (size == 0) throw new RuntimeException("Queue is empty!");
+        return queue[head];
     }
 
     /**
      * Tests if the queue is empty.
-     * 
+     *
      * @return {@code true} if the queue contains no elements; {@code false} otherwise
      */
     public boolean isEmpty() {
-        return queue.size() == 0;
+        return size == 0;
     }
 
 
     /**
      * Returns the size of the Queue.
-     * 
+     *
      * @return size
      */
     public int size() {
-        return queue.size();
+        return size;
+    }
+
+    /**
+     * Returns the number of elements the queue can hold before it has to grow.
+     *
+     * @return the length of the internal array
+     */
+    public int capacity() {
+        return queue.length;
+    }
+
+    /**
+     * Shrinks the internal array to the smallest power of two that still fits every element
+     * (but no smaller than the default capacity). Useful after a burst has been drained.
+     */
+    public void shrink() {
+        int target = roundUpToPowerOfTwo(Math.max(size, DEFAULT_CAPACITY));
+        if (target < queue.length) resize(target);
+    }
+
+    /**
+     * Removes all elements from the queue while keeping the current capacity.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) queue[(head + i) & mask] = null;
+        head = size = 0;
+        modCount++;
     }
 
     /**
      * Returns an iterator over the elements in the queue in FIFO order (front to rear).
      * The iterator starts from the front of the queue and moves toward the rear.
-     * 
+     * The iterator is fail-fast: if the queue is modified after the iterator was created,
+     * the next call to {@code next()} throws {@code ConcurrentModificationException}.
+     *
      * @return an iterator over the elements in the queue
      */
     @Override
     public Iterator<T> iterator() {
-        return queue.iterator();  //List's built-in iterator
+        return new Iterator<T>() {
+            private int current = 0;    //offset from head
+            private final int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return current < size;
+            }
+
+            public T next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (current >= size) throw new NoSuchElementException();
+                return queue[(head + current++) & mask];
+            }
+        };
+    }
+
+    /**
+     * Copies the elements into a new array of {@code newCapacity}, unwrapping them so that
+     * the front of the queue ends up at index 0.
+     * @param newCapacity the new length of the internal array, must be a power of two
+     */
+    private void resize(int newCapacity) {
+        T[] newQueue = (T[]) new Object[newCapacity];
+        int firstPart = Math.min(size, queue.length - head);   //elements before the array wraps
+        System.arraycopy(queue, head, newQueue, 0, firstPart);
+        System.arraycopy(queue, 0, newQueue, firstPart, size - firstPart);
+        queue = newQueue;
+        mask = newCapacity - 1;
+        head = 0;
+    }
+
+    /**
+     * Returns the capacity to grow to so that {@code required} elements fit.
+     * @param required the no. of elements that must fit
+     * @return a power of two
+     * @throws IllegalStateException if {@code required} is more than 2^30
+     */
+    private static int grownCapacity(long required) {
+        if (required > MAX_CAPACITY) throw new IllegalStateException("Queue can't hold more than " + MAX_CAPACITY + " elements, needs " + required);
+        return roundUpToPowerOfTwo((int) required);
+    }
+
+    /**
+     * Returns the smallest power of two greater than or equal to {@code n} (minimum 1).
+     * @param n the requested capacity
+     * @return a power of two
+     * @throws IllegalArgumentException if {@code n} is larger than the biggest int power of two
+     */
+    private static int roundUpToPowerOfTwo(int n) {
+        if (n > MAX_CAPACITY) throw new IllegalArgumentException("Capacity too large: " + n);
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
     }
 
-}
\ No newline at end of file
+}
@@ -1,13 +1,20 @@
 import java.util.*;
+import java.util.function.Predicate;
 /**
  * A generic implementation of a Singly Linked List in Java.
  * Contains a private inner generic class {@code Node} containing properties each node.
+ * Iterators are fail-fast; {@link #snapshot()} gives a view that isn't affected by later changes.
  * @author Taskin Saadman
  */
 public class SinglyLinkedList<T> implements Iterable<T> {
     private Node head;
     private int size;
     private Node tail;  //to keep track of the tail for optimized appendings O(1)
+    private int modCount;   //no. of structural modifications, checked by iterators
+    private boolean shared; //a snapshot references the current nodes, copy them before relinking
+    private Node free;          //recycled nodes, linked through next
+    private int freeCount;      //no. of nodes in the free list
+    private int poolCapacity;   //max. no. of recycled nodes kept, 0 when pooling is off
 
     /**
      * Constructs the {@code SinglyLinkedList} with size 0 and head pointing to {@code null}
@@ -33,15 +40,17 @@ public class SinglyLinkedList<T> implements Iterable<T> {
      */
     public void add(T data) {
         if (head == null) { 
-            this.head = new Node(data);    //adding an element to an empty List
+            this.head = newNode(data);    //adding an element to an empty List
             tail = head;      //tail is same as head if list has only 1 element
             size++;
+            modCount++;
             return;
         }
 
-        tail.setNext(new Node(data));   //update current tail's next pointer
+        tail.setNext(newNode(data));   //update current tail's next pointer
         tail = tail.getNext();         //update current tail
-        size++;    
+        size++;
+        modCount++;
     }
 
 
@@ -52,11 +61,11 @@ public class SinglyLinkedList<T> implements Iterable<T> {
     public void addFirst(T data) {
         if (size == 0) { this.add(data); return; }  //same functionality as add()
         
-        Node newHead = new Node(data);   newHead.setNext(head);
+        Node newHead = newNode(data);   newHead.setNext(head);
 
         if (size == 1) tail = head;     //if list had only 1 element previously, we need to update the tail based on old head
 
-        head = newHead;   size++;
+        head = newHead;   size++;   modCount++;
     }
 
 
@@ -65,7 +74,17 @@ public class SinglyLinkedList<T> implements Iterable<T> {
      * Resets {@code head} to {@code null}, {@code tail} to {@code null} and {@code size} to {@code 0}.
      */
     public void clear() {
+        if (!shared) {  //return as many nodes as the pool takes; a snapshot may still walk shared nodes
+            Node current = head;
+            while (current != null && freeCount < poolCapacity) {
+                Node next = current.getNext();
+                recycle(current);
+                current = next;
+            }
+        }
         head = tail = null; size = 0;
+        shared = false;     //a snapshot keeps the old nodes, nothing left to share
+        modCount++;
     }
 
 
@@ -77,9 +96,12 @@ public class SinglyLinkedList<T> implements Iterable<T> {
     public T removeHead() throws NoSuchElementException {
         if (size == 0) throw new NoSuchElementException("Can't remove head from empty SinglyLinkedList");
         if (size == 1) tail = null; //if list had single element, head was equal to tail. so update it.
+        Node oldHead = head;
         T data = head.getData();
         head = head.getNext();  //update head
+        recycle(oldHead);
         size--;
+        modCount++;
         return data;
     }
 
@@ -93,6 +115,7 @@ public class SinglyLinkedList<T> implements Iterable<T> {
     public T pop() {
         if (size == 0) throw new NoSuchElementException("Can't pop() from and empty SinglyLinkedList.");
         if (size == 1) { return this.removeHead(); }
+        detachFromSnapshot();
 
         Node current = head;
         for (int i = 0; i < size - 2; i++) {    //advance upto Node prev to tail
@@ -100,26 +123,34 @@ public class SinglyLinkedList<T> implements Iterable<T> {
         }
 
         Node temp = tail;
+        T data = temp.getData();
         current.setNext(null);
         tail = current;     //update tail
+        recycle(temp);
         size--;
-        return temp.getData();
+        modCount++;
+        return data;
     }
 
 
     /**
      * Method to be overriden from Iterable<T> interface to make the collection traversible
      * through a for-each loop.
+     * The iterator is fail-fast: if the list is structurally modified after the iterator was created,
+     * the next call to {@code next()} throws {@code ConcurrentModificationException}.
      * @return Iterator<T> an iterator object
      */
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
             Node currentNode = head;     //start from head node
+            final int expectedModCount = modCount;
 
             public boolean hasNext() { return currentNode != null; }    //since tail points to null
 
             public T next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (currentNode == null) throw new NoSuchElementException();
                 T retVal = currentNode.getData();
                 currentNode = currentNode.getNext();    //advancing the iterator
                 return retVal;    
@@ -128,6 +159,125 @@ public class SinglyLinkedList<T> implements Iterable<T> {
     }
 
 
+    /**
+     * Returns a fail-fast {@code ListIterator} starting at the head that can edit the list while walking it.
+     * {@code next()}, {@code add()}, {@code set()} and {@code remove()} take O(1) because the cursor
+     * keeps a reference to the node before its position, so a filtering loop is O(n) overall instead of
+     * calling {@code removeAt} for every element. Moving backwards ({@code previous()}) has to walk
+     * from the head and is O(n).
+     * <p>
+     * If a snapshot shares the nodes, the first edit through the cursor copies them once.
+     * @return a list iterator positioned before the head
+     */
+    public ListIterator<T> listIterator() {
+        return new Cursor();
+    }
+
+
+    /**
+     * Returns a read-only view of the list as it is right now. Later changes to this list are not
+     * visible through the view, and iterating it never throws {@code ConcurrentModificationException}.
+     * <p>
+     * Taking a snapshot is O(1): the view shares the current nodes and walks exactly {@code size()} of them.
+     * {@code add}, {@code addFirst}, {@code removeHead} and {@code clear} leave those nodes' links intact
+     * and stay O(1); the first {@code pop}, middle {@code insert}, middle {@code removeAt}, {@code removeIf}
+     * or edit through {@code listIterator()} after a snapshot copies the nodes once.
+     * <p>
+     * Take the snapshot on the thread that modifies the list (or under its lock). The returned view
+     * is immutable and can then be handed to any number of reader threads.
+     * @return an immutable view of the current elements
+     */
+    public Iterable<T> snapshot() {
+        shared = true;
+        return new Snapshot(head, size);
+    }
+
+
+    /**
+     * Replaces the nodes with fresh copies if a snapshot still references them, so relinking
+     * nodes doesn't show through the snapshot.
+     */
+    private void detachFromSnapshot() {
+        if (!shared) return;
+        shared = false;
+        if (head == null) return;
+
+        Node newHead = newNode(head.getData());
+        Node copy = newHead;
+        for (Node current = head.getNext(); current != null; current = current.getNext()) {
+            copy.setNext(newNode(current.getData()));
+            copy = copy.getNext();
+        }
+        head = newHead;
+        tail = copy;
+    }
+
+
+    /**
+     * Returns the node before index {@code index}, walking from the head.
+     * @param index an index between 0 and size
+     * @return the node at {@code index - 1}, or {@code null} if index is 0
+     */
+    private Node nodeBefore(int index) {
+        if (index == 0) return null;
+        Node current = head;
+        for (int i = 1; i < index; i++) current = current.getNext();
+        return current;
+    }
+
+
+    /**
+     * Turns node pooling on or off. With a positive {@code capacity}, nodes unlinked by
+     * {@code removeHead}, {@code pop}, {@code removeAt}, {@code removeIf}, {@code clear} and the cursor's
+     * {@code remove} are kept (with their data cleared) in a free list of up to {@code capacity} nodes,
+     * and {@code add}, {@code addFirst} and {@code insert} reuse them instead of allocating.
+     * Useful for short-lived lists that churn through many elements. A capacity of 0 turns pooling
+     * off and drops the pooled nodes.
+     * <p>
+     * Nodes still reachable from a snapshot are never pooled.
+     * @param capacity the max. no. of nodes kept for reuse
+     * @throws IllegalArgumentException if {@code capacity} is negative
+     */
+    public void setNodePool(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Pool capacity can't be negative: " + capacity);
+        poolCapacity = capacity;
+        while (freeCount > capacity) {  //drop the excess
+            free = free.getNext();
+            freeCount--;
+        }
+    }
+
+
+    /**
+     * Returns a node holding {@code data}, taken from the pool if one is available.
+     * @param data the value of the node
+     * @return a node whose next pointer is {@code null}
+     */
+    private Node newNode(T data) {
+        if (free == null) return new Node(data);
+        Node node = free;
+        free = node.getNext();
+        freeCount--;
+        node.setNext(null);
+        node.setData(data);
+        return node;
+    }
+
+
+    /**
+     * Puts an unlinked node into the pool if pooling is on, there is room, and no snapshot can reach it.
+     * Its data is cleared so the pool doesn't keep elements alive.
+     * @param node a node that is no longer part of the list
+     */
+    private void recycle(Node node) {
+        if (shared || freeCount >= poolCapacity) return;
+        node.setData(null);
+        node.setNext(free);
+        free = node;
+        freeCount++;
+    }
+
+
     /**
      * Get the value at a specified index.
      * @param index the specified index.
@@ -161,14 +311,16 @@ public class SinglyLinkedList<T> implements Iterable<T> {
         if(index == 0) {this.addFirst(data); return;} //if index is 0, implement addFirst()
 
         //if index is somewhere in the middle
+        detachFromSnapshot();
         Node current = head;
         //reach upto the Node previous to the one in index
         for (int i = 0; i < index - 1; i++) current = current.getNext();
         Node temp = current.getNext();  //store the previous next Node in the list
-        current.setNext(new Node(data));    //set the new node
+        current.setNext(newNode(data));    //set the new node
         current = current.getNext();  //advance to the new node
         current.setNext(temp);  //set the `next` of new node to temp
         size++;
+        modCount++;
     }
 
 
@@ -184,12 +336,50 @@ public class SinglyLinkedList<T> implements Iterable<T> {
         if (index == size - 1) return this.pop();
 
         //if removal is to be done somewhere in the middle
+        detachFromSnapshot();
         Node current = head; 
         for(int i = 0; i <= index - 2; i++) current = current.getNext();
         Node removalTemp = current.getNext();
         current.setNext(removalTemp.getNext());
+        T data = removalTemp.getData();
+        recycle(removalTemp);
         size--;
-        return removalTemp.getData();
+        modCount++;
+        return data;
+    }
+
+
+    /**
+     * Removes every element matching {@code filter} in a single pass over the list,
+     * relinking around each removed node as it goes. If {@code filter} throws, the elements
+     * removed before it stay removed and the list is left consistent.
+     * @param filter returns {@code true} for elements to remove
+     * @return the number of elements removed
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        detachFromSnapshot();
+        int removed = 0;
+        Node previous = null;   //last kept node
+        Node current = head;
+        try {
+            while (current != null) {
+                Node next = current.getNext();
+                if (!filter.test(current.getData())) {
+                    previous = current;
+                } else {
+                    if (previous == null) head = next;     //unlink current
+                    else previous.setNext(next);
+                    recycle(current);
+                    removed++;
+                }
+                current = next;
+            }
+        } finally {
+            if (current == null) tail = previous;   //reached the end: the last kept node, or null if nothing was kept
+            size -= removed;
+            if (removed > 0) modCount++;
+        }
+        return removed;
     }
 
 
@@ -254,6 +444,149 @@ public class SinglyLinkedList<T> implements Iterable<T> {
 
 
 
+    /**
+     * {@code ListIterator} created by {@code listIterator()}. Keeps the node before its position
+     * ({@code previous}) and the node returned last together with its predecessor, which is all
+     * a singly linked list needs to relink in O(1).
+     */
+    private class Cursor implements ListIterator<T> {
+        Node previous;          //node before the cursor position, null at the start
+        Node lastReturned;      //node returned by the last next()/previous(), target of set()/remove()
+        Node beforeLast;        //node before lastReturned, null if lastReturned is the head
+        boolean lastFromNext;   //whether lastReturned came from next() (it is then equal to previous)
+        int nextIndex;
+        int expectedModCount = modCount;
+
+        public boolean hasNext() { return nextIndex < size; }
+
+        public boolean hasPrevious() { return nextIndex > 0; }
+
+        public int nextIndex() { return nextIndex; }
+
+        public int previousIndex() { return nextIndex - 1; }
+
+        public T next() {
+            checkForComodification();
+            if (!hasNext()) throw new NoSuchElementException();
+            beforeLast = previous;
+            previous = previous == null ? head : previous.getNext();
+            lastReturned = previous;
+            lastFromNext = true;
+            nextIndex++;
+            return lastReturned.getData();
+        }
+
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious()) throw new NoSuchElementException();
+            lastReturned = previous;
+            lastFromNext = false;
+            nextIndex--;
+            previous = nodeBefore(nextIndex);   //O(n) walk, the list has no back links
+            beforeLast = previous;
+            return lastReturned.getData();
+        }
+
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) throw new IllegalStateException();
+            detach();
+
+            Node following = lastReturned.getNext();
+            if (beforeLast == null) head = following;   //unlink lastReturned
+            else beforeLast.setNext(following);
+            if (lastReturned == tail) tail = beforeLast;
+
+            if (lastFromNext) nextIndex--;
+            previous = beforeLast;      //either way the cursor now sits right after beforeLast
+            recycle(lastReturned);
+            lastReturned = null;
+            size--;
+            expectedModCount = ++modCount;
+        }
+
+        public void set(T data) {
+            checkForComodification();
+            if (lastReturned == null) throw new IllegalStateException();
+            detach();
+            lastReturned.setData(data);
+        }
+
+        public void add(T data) {
+            checkForComodification();
+            detach();
+
+            Node newNode = newNode(data);
+            if (previous == null) {     //insert at the head
+                newNode.setNext(head);
+                head = newNode;
+            } else {
+                newNode.setNext(previous.getNext());
+                previous.setNext(newNode);
+            }
+            if (newNode.getNext() == null) tail = newNode;
+
+            previous = newNode;
+            nextIndex++;
+            lastReturned = null;
+            size++;
+            expectedModCount = ++modCount;
+        }
+
+        /**
+         * Copies the nodes away from a snapshot before an edit, and finds the cursor's nodes again in the copy.
+         */
+        private void detach() {
+            if (!shared) return;
+            detachFromSnapshot();
+            if (lastReturned != null && lastFromNext) {
+                beforeLast = nodeBefore(nextIndex - 1);
+                previous = lastReturned = beforeLast == null ? head : beforeLast.getNext();
+            } else {
+                previous = beforeLast = nodeBefore(nextIndex);
+                if (lastReturned != null) lastReturned = previous == null ? head : previous.getNext();
+            }
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+    }
+
+
+    /**
+     * Immutable view created by {@code snapshot()}: walks {@code size} nodes starting at {@code head}.
+     * Final fields make the view safe to publish to other threads.
+     */
+    private class Snapshot implements Iterable<T> {
+        private final Node head;
+        private final int size;
+
+        Snapshot(Node head, int size) {
+            this.head = head;
+            this.size = size;
+        }
+
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                Node currentNode = head;
+                int remaining = size;   //stop after size nodes, later appends hang off the old tail
+
+                public boolean hasNext() { return remaining > 0; }
+
+                public T next() {
+                    if (remaining == 0) throw new NoSuchElementException();
+                    T retVal = currentNode.getData();
+                    currentNode = currentNode.getNext();
+                    remaining--;
+                    return retVal;
+                }
+            };
+        }
+    }
+
+
+
     /**
      * Private inner class defining Node behavior.
      * Each node has a value and a reference to the next value.
@@ -0,0 +1,392 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+/**
+ * A dynamic array that keeps its elements sorted by a {@code java.util.Comparator}.
+ * Membership checks and {@code floor}/{@code ceiling}/range queries use binary search,
+ * so they take O(log n) time instead of the linear scan of {@link DynamicArray#contains(Object)}.
+ * <p>
+ * A single {@code add} shifts the elements after the insertion point, O(n). To load many elements,
+ * use {@code addAll}: it sorts the batch and merges it into the array in one linear pass.
+ * Equal elements are allowed and are kept in insertion order.
+ *
+ * @param <T> The type of elements stored in the dynamic array
+ * @author Taskin Saadman
+ * @see DynamicArray
+ */
+@SuppressWarnings("unchecked")
+public class SortedDynamicArray<T> implements Iterable<T> {
+
+    private T[] array;     //internal static array, sorted in [0, size)
+    private int size;     //no. of elements inside
+    private final Comparator<? super T> comparator;
+    private int modCount;     //no. of structural modifications, checked by iterators
+
+
+    /**
+     * Creates an empty array ordered by natural ordering.
+     */
+    public SortedDynamicArray() {
+        this((Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+
+    /**
+     * Creates an empty array ordered by {@code comparator}.
+     *
+     * @param comparator the ordering of the array
+     */
+    public SortedDynamicArray(Comparator<? super T> comparator) {
+        this(comparator, 10);
+    }
+
+
+    /**
+     * Creates an empty array ordered by {@code comparator} with the given initial capacity.
+     *
+     * @param comparator the ordering of the array
+     * @param initialCapacity the initial length of the internal array
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public SortedDynamicArray(Comparator<? super T> comparator, int initialCapacity) {
+        if (comparator == null) throw new NullPointerException("Comparator can't be null");
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity can't be negative: " + initialCapacity);
+        this.comparator = comparator;
+        array = (T[]) new Object[Math.max(1, initialCapacity)];   //typecasting warning suppressed
+    }
+
+
+    /**
+     * Returns the comparator used to order the elements.
+     *
+     * @return the comparator
+     */
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+
+    /**
+     * Returns the number of elements currently stored.
+     *
+     * @return the current size of the array
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Returns a boolean based on whether the array is empty or not
+     * @return true if empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Returns the element in the specified index, i.e. the element of that rank.
+     *
+     * @param index the specified index
+     * @return element the element at the specified index
+     * @throws IndexOutOfBoundsException
+     */
+    public T get(int index) throws IndexOutOfBoundsException {
+        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+        return array[index];
+    }
+
+
+    /**
+     * Inserts an element at its sorted position, after any equal elements.
+     *
+     * @param element The element to add
+     * @return the index the element was inserted at
+     * @throws NullPointerException if {@code null} was passed as element
+     */
+    public int add(T element) {
+        if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        int index = upperBound(element);
+        if (size == array.length) grow(size + 1);
+
+        System.arraycopy(array, index, array, index + 1, size - index);    //shift everything to the right of the insertion point
+        array[index] = element;
+        size++;
+        modCount++;
+        return index;
+    }
+
+
+    /**
+     * Adds every element of {@code elements}. The batch is sorted (linear time if it is already sorted)
+     * and then merged into the array from the back in a single pass, so the whole call takes
+     * O(n + m log m) time instead of the O(n * m) of repeated {@code add}.
+     * {@code elements} itself is not modified.
+     *
+     * @param elements the elements to add
+     * @throws NullPointerException if any element is {@code null}
+     */
+    public void addAll(T[] elements) {
+        T[] batch = elements.clone();
+        for (T element : batch) {
+            if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        }
+        merge(batch);
+    }
+
+
+    /**
+     * Adds every element of {@code elements}, sorting and merging them in one pass like {@link #addAll(Object[])}.
+     *
+     * @param elements the elements to add
+     * @throws NullPointerException if any element is {@code null}
+     */
+    public void addAll(Iterable<? extends T> elements) {
+        T[] batch;
+        if (elements instanceof Collection) {
+            batch = (T[]) ((Collection<?>) elements).toArray();     //a fresh array, safe to sort
+        } else {
+            DynamicArray<T> values = new DynamicArray<T>();
+            for (T element : elements) values.add(element);
+            batch = values.takeArray();
+        }
+        for (T element : batch) {
+            if (element == null) throw new NullPointerException("Dynamic array can't contain empty reference types");
+        }
+        merge(batch);
+    }
+
+
+    /**
+     * Searches for {@code key} by binary search.
+     *
+     * @param key the element to search for
+     * @return the index of the first element equal to {@code key} according to the comparator;
+     *         otherwise {@code -(insertion point) - 1}, like {@code java.util.Arrays.binarySearch}
+     * @throws NullPointerException if {@code null} was passed as argument
+     */
+    public int binarySearch(T key) {
+        if (key == null) throw new NullPointerException("Dynamic array cannot contain empty reference types!");
+        int index = lowerBound(key);
+        if (index < size && comparator.compare(array[index], key) == 0) return index;
+        return -(index + 1);
+    }
+
+
+    /**
+     * Checks whether an element equal to {@code element} according to the comparator exists. O(log n).
+     * @param element element to be found
+     * @return boolean true or false
+     * @throws NullPointerException if {@code null} was passed as argument
+     */
+    public boolean contains(T element) throws NullPointerException {
+        return binarySearch(element) >= 0;
+    }
+
+
+    /**
+     * Returns the greatest element less than or equal to {@code key}.
+     *
+     * @param key the element to compare against
+     * @return the floor element, or {@code null} if there is none
+     */
+    public T floor(T key) {
+        int index = upperBound(key) - 1;
+        return index >= 0 ? array[index] : null;
+    }
+
+
+    /**
+     * Returns the least element greater than or equal to {@code key}.
+     *
+     * @param key the element to compare against
+     * @return the ceiling element, or {@code null} if there is none
+     */
+    public T ceiling(T key) {
+        int index = lowerBound(key);
+        return index < size ? array[index] : null;
+    }
+
+
+    /**
+     * Returns the number of elements from {@code from} (inclusive) to {@code to} (exclusive). O(log n).
+     *
+     * @param from the lower bound
+     * @param to the upper bound
+     * @return the no. of elements in the range, 0 if {@code from} isn't lower than {@code to}
+     */
+    public int countRange(T from, T to) {
+        return Math.max(0, lowerBound(to) - lowerBound(from));
+    }
+
+
+    /**
+     * Returns the elements from {@code from} (inclusive) to {@code to} (exclusive), in order.
+     * Two binary searches find the range, which is then copied with one {@code System.arraycopy}.
+     *
+     * @param from the lower bound
+     * @param to the upper bound
+     * @return a new {@code DynamicArray} holding the range
+     */
+    public DynamicArray<T> range(T from, T to) {
+        int start = lowerBound(from);
+        int end = Math.max(start, lowerBound(to));
+        DynamicArray<T> result = new DynamicArray<T>(end - start);
+        result.addAll(Arrays.copyOfRange(array, start, end));
+        return result;
+    }
+
+
+    /**
+     * Removes element at specified index and left shift the rest of the array.
+     *
+     * @param index index from which element is to be popped
+     * @return element the element which was popped
+     * @throws IndexOutOfBoundsException if out of bounds index was passed
+     */
+    public T pop(int index) throws IndexOutOfBoundsException {
+        if (!(index >= 0 && index < size)) throw new IndexOutOfBoundsException("Index " + index + " is out of bounds.");
+
+        T element = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);     //left-shift
+
+        modCount++;
+        array[--size] = null;     //decrement size and clear the vacated slot so it can be garbage collected
+        return element;
+    }
+
+
+    /**
+     * Removes one element equal to {@code element} according to the comparator.
+     *
+     * @param element the element to remove
+     * @return true if an element was removed, otherwise false
+     * @throws NullPointerException if {@code null} was passed as argument
+     */
+    public boolean remove(T element) {
+        int index = binarySearch(element);
+        if (index < 0) return false;
+        pop(index);
+        return true;
+    }
+
+
+    /**
+     * Removes all elements, keeping the internal array.
+     */
+    public void clear() {
+        Arrays.fill(array, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+
+    /**
+     * Returns a string representation of the {@code SortedDynamicArray} object.
+     * @return String
+     */
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(array, size));
+    }
+
+
+    /**
+     * Returns a fail-fast iterator over the elements in sorted order.
+     * @return an iterator over elements of type {@code T}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int current = 0;
+            private final int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return current < size;
+            }
+
+            public T next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (current >= size) throw new NoSuchElementException();
+                return array[current++];
+            }
+        };
+    }
+
+
+    /**
+     * Sorts {@code batch} in place and merges it into the array, back to front, so every element
+     * moves at most once. Every comparison is made before the first element moves, so if the
+     * comparator throws, the array is left unchanged.
+     * @param batch the non-null elements to merge
+     */
+    private void merge(T[] batch) {
+        if (batch.length == 0) return;
+        Arrays.sort(batch, comparator);     //stable, and linear on already sorted input
+
+        int[] before = new int[batch.length];   //no. of existing elements that go before batch[j]
+        int i = 0;
+        for (int j = 0; j < batch.length; j++) {
+            //existing elements go first among equals
+            while (i < size && comparator.compare(array[i], batch[j]) <= 0) i++;
+            before[j] = i;
+        }
+
+        if (size + batch.length > array.length) grow(size + batch.length);
+        int end = size;     //one past the last existing element not moved yet
+        for (int j = batch.length - 1; j >= 0; j--) {
+            System.arraycopy(array, before[j], array, before[j] + j + 1, end - before[j]);
+            array[before[j] + j] = batch[j];
+            end = before[j];
+        }
+        size += batch.length;
+        modCount++;
+    }
+
+
+    /**
+     * Returns the index of the first element not less than {@code key}.
+     * @param key the element to compare against
+     * @return an index in [0, size]
+     */
+    private int lowerBound(T key) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(array[mid], key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+
+    /**
+     * Returns the index of the first element greater than {@code key}.
+     * @param key the element to compare against
+     * @return an index in [0, size]
+     */
+    private int upperBound(T key) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(array[mid], key) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+
+    /**
+     * Doubles the internal array, or grows it to {@code minCapacity} if that is larger.
+     * @param minCapacity the required capacity
+     */
+    private void grow(int minCapacity) {
+        int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, array.length * 2L);
+        array = Arrays.copyOf(array, Math.max(minCapacity, newCapacity));
+    }
+
+
+}
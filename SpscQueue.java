@@ -0,0 +1,187 @@
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+/**
+ * A bounded, wait-free Queue for exactly one producer thread and one consumer thread,
+ * meant for handing elements from one pipeline stage to the next.
+ * <p>
+ * Only the producer writes {@code tail} and only the consumer writes {@code head}; both are
+ * published with {@code lazySet} (release ordering) and read with a volatile load (acquire).
+ * Each side also keeps a cached copy of the other side's counter and only re-reads the shared
+ * one when the cache says the queue looks full (producer) or empty (consumer), so the common
+ * path touches no cache line owned by the other thread.
+ * <p>
+ * Calling the producer methods ({@code offer}, {@code enqueue}) from more than one thread, or the
+ * consumer methods ({@code poll}, {@code dequeue}, {@code peek}, {@code drain}) from more than one
+ * thread, is not supported. Use {@link ConcurrentQueue} for that. {@code null} elements are not permitted.
+ * @author Taskin Saadman
+ * @see ConcurrentQueue
+ */
+public class SpscQueue<T> {
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+
+    private final PaddedCounter tail = new PaddedCounter();   //written by producer only
+    private final PaddedCounter head = new PaddedCounter();   //written by consumer only
+    private final PaddedLong headCache = new PaddedLong();    //producer's view of head
+    private final PaddedLong tailCache = new PaddedLong();    //consumer's view of tail
+
+    /**
+     * Constructs an empty queue bounded to {@code capacity} elements.
+     * The capacity is rounded up to the next power of two.
+     *
+     * @param capacity the maximum number of elements
+     * @throws IllegalArgumentException if {@code capacity} is smaller than 1
+     */
+    public SpscQueue(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new AtomicReferenceArray<T>(length);
+        mask = length - 1;
+    }
+
+    /**
+     * Inserts an element at the rear of the queue if there is room. Producer thread only.
+     *
+     * @param value the element to be added
+     * @return {@code true} if added; {@code false} if the queue is full
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public boolean offer(T value) {
+        if (value == null) throw new NullPointerException("Queue can't contain null elements");
+        long t = tail.get();    //only this thread writes tail
+        if (t - headCache.value > mask) {
+            headCache.value = head.get();   //looks full, refresh the cached head
+            if (t - headCache.value > mask) return false;
+        }
+        buffer.lazySet((int) t & mask, value);
+        tail.lazySet(t + 1);    //release: element is visible before the new tail
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue. Consumer thread only.
+     *
+     * @return the element at the front of the queue, or {@code null} if the queue is empty
+     */
+    public T poll() {
+        long h = head.get();
+        if (h >= tailCache.value) {
+            tailCache.value = tail.get();   //looks empty, refresh the cached tail
+            if (h >= tailCache.value) return null;
+        }
+        int index = (int) h & mask;
+        T value = buffer.get(index);
+        buffer.lazySet(index, null);
+        head.lazySet(h + 1);    //release: slot is free before the producer can see it
+        return value;
+    }
+
+    /**
+     * Removes up to {@code limit} elements and passes each of them to {@code consumer} in FIFO order.
+     * The shared tail is read once and the head is published once for the whole batch.
+     * Consumer thread only.
+     *
+     * @param consumer the action applied to each removed element
+     * @param limit the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    public int drain(Consumer<? super T> consumer, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit can't be negative: " + limit);
+        long h = head.get();
+        long available = tail.get() - h;
+        tailCache.value = h + available;
+        int count = (int) Math.min(available, limit);
+
+        int consumed = 0;
+        try {
+            while (consumed < count) {
+                int index = (int) (h + consumed) & mask;
+                T value = buffer.get(index);
+                buffer.lazySet(index, null);
+                consumed++;     //the element counts as removed once its slot is cleared
+                consumer.accept(value);
+            }
+        } finally {
+            head.lazySet(h + consumed);     //publish the consumed prefix even if consumer threw
+        }
+        return count;
+    }
+
+    /**
+     * Adds an element to the rear of the queue. Producer thread only.
+     *
+     * @param value the element to be added to the queue
+     * @throws RuntimeException if the queue is full
+     */
+    public void enqueue(T value) throws RuntimeException {
+        if (!offer(value)) throw new RuntimeException("Queue is full!");
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue. Consumer thread only.
+     *
+     * @return the element at the front of the queue
+     * @throws RuntimeException if the queue is empty
+     */
+    public T dequeue() throws RuntimeException {
+        T retVal = poll();
+        if (retVal == null) throw new RuntimeException("Queue is empty!");
+        return retVal;
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it. Consumer thread only.
+     *
+     * @return the element at the front of the queue
+     * @throws RuntimeException if the queue is empty
+     */
+    public T peek() throws RuntimeException {
+        long h = head.get();
+        if (h >= tailCache.value) {
+            tailCache.value = tail.get();
+            if (h >= tailCache.value) throw new RuntimeException("Queue is empty!");
+        }
+        return buffer.get((int) h & mask);
+    }
+
+    /**
+     * Tests if the queue is empty. The answer may be stale as soon as it is returned.
+     *
+     * @return {@code true} if the queue contains no elements; {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    /**
+     * Returns an estimate of the number of elements in the queue.
+     *
+     * @return size
+     */
+    public int size() {
+        long h = head.get();
+        return (int) Math.max(0, tail.get() - h);
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+
+    /**
+     * A plain long owned by one thread, padded to its own cache line. The padding follows the
+     * value, like {@link PaddedCounter}'s.
+     */
+    @SuppressWarnings("unused")
+    private static final class PaddedLong {
+        long value;
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+}
@@ -0,0 +1,128 @@
+import java.util.Arrays;
+import java.util.Comparator;
+/**
+ * A bounded collector that keeps the {@code k} highest elements seen in a stream.
+ * Internally a {@link Heap} of at most {@code k} elements whose root is the lowest element kept
+ * (the current admission threshold). An incoming element either loses against the root in a
+ * single comparison, or replaces the root with one bubble down; the heap never grows past {@code k}.
+ * <p>
+ * Partial results from parallel workers can be combined with {@link #merge(TopK)}.
+ * @param <T> the type of elements collected
+ * @author Taskin Saadman
+ * @see Heap
+ */
+@SuppressWarnings("unchecked")
+public class TopK<T> {
+    private final Heap<T> heap;
+    private final Comparator<? super T> comparator;
+    private final int k;
+
+    /**
+     * Constructs an empty collector keeping the {@code k} highest elements by natural ordering.
+     * @param k the number of elements to keep
+     * @throws IllegalArgumentException if {@code k} is smaller than 1
+     */
+    public TopK(int k) {
+        this(k, (Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    /**
+     * Constructs an empty collector keeping the {@code k} highest elements by {@code comparator}.
+     * @param k the number of elements to keep
+     * @param comparator the ordering; "highest" means greatest according to it
+     * @throws IllegalArgumentException if {@code k} is smaller than 1
+     */
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k < 1) throw new IllegalArgumentException("k must be positive: " + k);
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new Heap<T>(comparator);   //lowest kept element at the root
+    }
+
+    /**
+     * Offers an element to the collector.
+     * @param value the element
+     * @return true if the element is now among the top {@code k}, otherwise false
+     * @throws NullPointerException if {@code value} is {@code null}
+     */
+    public boolean offer(T value) {
+        if (heap.size() < k) {
+            heap.insert(value);
+            return true;
+        }
+        if (comparator.compare(value, heap.peek()) <= 0) return false;   //doesn't beat the threshold
+        heap.replaceTop(value);
+        return true;
+    }
+
+    /**
+     * Offers every element of {@code values} to the collector.
+     * @param values the elements
+     */
+    public void offerAll(Iterable<? extends T> values) {
+        for (T value : values) offer(value);
+    }
+
+    /**
+     * Merges the elements kept by {@code other} (e.g. a partial result from another worker)
+     * into this collector. {@code other} is left unchanged.
+     * @param other another collector, ideally with the same ordering
+     */
+    public void merge(TopK<? extends T> other) {
+        for (Object value : other.heap.toArray()) offer((T) value);
+    }
+
+    /**
+     * Returns the lowest element kept, i.e. the value a new element has to beat once full.
+     * @return the threshold element
+     * @throws RuntimeException if the collector is empty
+     */
+    public T threshold() throws RuntimeException {
+        return heap.peek();
+    }
+
+    /**
+     * Returns the number of elements currently kept (at most {@code k})
+     * @return the size
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns a boolean based on whether any element has been kept
+     * @return true if empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Returns the maximum number of elements kept
+     * @return k
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * Returns a snapshot of the kept elements sorted from highest to lowest.
+     * The collector itself is unchanged.
+     * @return a new {@code DynamicArray} of the top elements
+     */
+    public DynamicArray<T> toSortedArray() {
+        T[] values = (T[]) heap.toArray();
+        Arrays.sort(values, comparator.reversed());
+        DynamicArray<T> result = new DynamicArray<T>();
+        for (T value : values) result.add(value);
+        return result;
+    }
+
+    /**
+     * Removes all kept elements.
+     */
+    public void clear() {
+        heap.clear();
+    }
+
+}
@@ -0,0 +1,410 @@
+import java.util.*;
+/**
+ * A generic unrolled linked list: a doubly linked list of nodes that each hold up to 64 elements
+ * in a small array, instead of one {@code Node} per element as in {@link SinglyLinkedList}.
+ * <p>
+ * One node header is shared by up to 64 elements, so the list uses far less memory per element,
+ * and iteration reads consecutive array slots instead of following a pointer per element.
+ * {@code get}, {@code insert} and {@code removeAt} skip whole nodes at a time, from whichever end
+ * is closer.
+ * <ul>
+ *   <li>{@code add}/{@code addFirst} fill the tail/head node and start a new one when it is full, O(1).</li>
+ *   <li>{@code insert} into a full node splits it into two half-full nodes.</li>
+ *   <li>{@code removeAt} merges a node that drops below half full with its successor when both fit in one node.</li>
+ * </ul>
+ * Offers the same API as {@code SinglyLinkedList}. Iterators are fail-fast.
+ * @author Taskin Saadman
+ * @see SinglyLinkedList
+ */
+@SuppressWarnings("unchecked")
+public class UnrolledLinkedList<T> implements Iterable<T> {
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final int nodeCapacity;     //max. no. of elements per node
+    private Node head;
+    private Node tail;
+    private int size;
+    private int modCount;   //no. of structural modifications, checked by iterators
+
+    /**
+     * Constructs an empty {@code UnrolledLinkedList} with 64 elements per node
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+
+    /**
+     * Constructs an empty {@code UnrolledLinkedList} with {@code nodeCapacity} elements per node.
+     * 32 to 64 keeps a node within a few cache lines.
+     * @param nodeCapacity the max. no. of elements per node
+     * @throws IllegalArgumentException if {@code nodeCapacity} is smaller than 4
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 4) throw new IllegalArgumentException("Node capacity must be at least 4: " + nodeCapacity);
+        this.nodeCapacity = nodeCapacity;
+        head = tail = null;     //UnrolledLinkedList starts empty
+        size = 0;
+    }
+
+
+    /**
+     * Checks whether an UnrolledLinkedList is empty or not
+     * @return boolean true or false is returned
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Returns the no. of elements in the list
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Appends a new value to the end of the list. O(1).
+     * @param data the value to be added
+     */
+    public void add(T data) {
+        if (tail == null || tail.count == nodeCapacity) linkAfter(tail, new Node());   //tail full, start a new node
+        tail.elements[tail.count++] = data;
+        size++;
+        modCount++;
+    }
+
+
+    /**
+     * Add an element to the beginning of the list. Shifts at most one node's elements, O(1).
+     * @param data the data to be added
+     */
+    public void addFirst(T data) {
+        if (head == null || head.count == nodeCapacity) linkAfter(null, new Node());   //head full, start a new node
+        head.insertAt(0, data);
+        size++;
+        modCount++;
+    }
+
+
+    /**
+     * Clears the entire instance.
+     * Resets {@code head} and {@code tail} to {@code null} and {@code size} to {@code 0}.
+     */
+    public void clear() {
+        head = tail = null; size = 0;
+        modCount++;
+    }
+
+
+    /**
+     * Remove the first element and return it
+     * @return T the first element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T removeHead() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException("Can't remove head from empty UnrolledLinkedList");
+        return removeFrom(head, 0);
+    }
+
+
+    /**
+     * Removes the last element and returns it. O(1).
+     * @return the last element
+     * @throws NoSuchElementException for empty UnrolledLinkedLists
+     */
+    public T pop() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException("Can't pop() from and empty UnrolledLinkedList.");
+        return removeFrom(tail, tail.count - 1);
+    }
+
+
+    /**
+     * Get the value at a specified index.
+     * @param index the specified index.
+     * @return T the value at that index.
+     * @throws IndexOutOfBoundsException if out of bounds index was passed into the function.
+     */
+    public T get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+        Position position = positionOf(index);
+        return (T) position.node.elements[position.offset];
+    }
+
+
+    /**
+     * Replaces the value at a specified index and returns the old one.
+     * @param index the specified index.
+     * @param data the new value
+     * @return T the value previously at that index.
+     * @throws IndexOutOfBoundsException if out of bounds index was passed into the function.
+     */
+    public T set(int index, T data) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+        Position position = positionOf(index);
+        T old = (T) position.node.elements[position.offset];
+        position.node.elements[position.offset] = data;
+        return old;
+    }
+
+
+    /**
+     * Inserts a new value at a specific index, shifting everything else to the right.
+     * A full node is split into two half-full nodes first.
+     * @param index index where insertion is to be done
+     * @param data value to be added
+     * @throws IndexOutOfBoundsException if out of bounds index is entered
+     */
+    public void insert(int index, T data) throws IndexOutOfBoundsException {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + size);
+        if (index == size) { this.add(data); return; }  //if index is next to last element, implement add()
+
+        Position found = positionOf(index);
+        Node node = found.node;
+        int position = found.offset;
+        if (node.count == nodeCapacity) {   //split: move the upper half into a new node
+            Node upper = new Node();
+            int half = nodeCapacity / 2;
+            upper.count = nodeCapacity - half;
+            System.arraycopy(node.elements, half, upper.elements, 0, upper.count);
+            Arrays.fill(node.elements, half, nodeCapacity, null);
+            node.count = half;
+            linkAfter(node, upper);
+            if (position > half) {
+                node = upper;
+                position -= half;
+            }
+        }
+        node.insertAt(position, data);
+        size++;
+        modCount++;
+    }
+
+
+    /**
+     * Remove the element at the specified index and return it.
+     * A node left less than half full is merged with its successor when they fit in one node.
+     * @param index the specific index
+     * @return the value at index
+     * @throws IndexOutOfBoundsException
+     */
+    public T removeAt(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index should be between " + 0 + " & " + (size - 1));
+        Position position = positionOf(index);
+        return removeFrom(position.node, position.offset);
+    }
+
+
+    /**
+     * Finds the index for the first instance of a particular value in the list.
+     * @param value the value whose index is to be found
+     * @return index the valute of the index. If value doesn't exist return -1.
+     */
+    public int indexOf(T value) {
+        int base = 0;
+        for (Node node = head; node != null; node = node.next) {
+            Object[] elements = node.elements;
+            for (int i = 0; i < node.count; i++) {  //equality check for both null and non-null elements
+                Object item = elements[i];
+                if ((value == null && item == null) || (item != null && item.equals(value))) return base + i;
+            }
+            base += node.count;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Returns {@code true} or {@code false} if a value exists in the instance.
+     * @param data the value to be found
+     * @return boolean true or false
+     */
+    public boolean contains(T data) {
+        return indexOf(data) != -1;
+    }
+
+
+    /**
+     * Returns the first element
+     * @return data
+     * @throws NoSuchElementException if list is empty
+     */
+    public T getHead() throws NoSuchElementException {
+        if (size == 0) throw new NoSuchElementException();
+        return (T) head.elements[0];
+    }
+
+
+    /**
+     * Method to be overriden from Iterable<T> interface to make the collection traversible
+     * through a for-each loop. Walks each node's array in order.
+     * The iterator is fail-fast: if the list is structurally modified after the iterator was created,
+     * the next call to {@code next()} throws {@code ConcurrentModificationException}.
+     * @return Iterator<T> an iterator object
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Node currentNode = head;
+            int current = 0;    //index inside currentNode
+            final int expectedModCount = modCount;
+
+            public boolean hasNext() { return currentNode != null && current < currentNode.count; }
+
+            public T next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (!hasNext()) throw new NoSuchElementException();
+                T retVal = (T) currentNode.elements[current++];
+                if (current == currentNode.count) {     //end of this node, move to the next one
+                    currentNode = currentNode.next;
+                    current = 0;
+                }
+                return retVal;
+            }
+        };
+    }
+
+
+    /**
+     * String representation of the {@code UnrolledLinkedList} instance.
+     * @return the {@code String} representation
+     */
+    public String toString() {
+        if (size == 0) return "[ ]";
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (T value : this) sb.append(value + " -> ");
+        sb.setLength(sb.length() - 4);  //drop the last arrow
+        sb.append("]");
+        return sb.toString();
+    }
+
+
+    /**
+     * Finds the node holding {@code index}, skipping whole nodes from whichever end is closer,
+     * and the position inside that node. Doesn't modify the list, so concurrent reads are safe.
+     * @param index an index between 0 and size - 1
+     * @return the node and the index inside it
+     */
+    private Position positionOf(int index) {
+        Node node;
+        if (index < size / 2) {
+            node = head;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+        } else {
+            node = tail;
+            int base = size - node.count;   //index of the node's first element
+            while (index < base) {
+                node = node.prev;
+                base -= node.count;
+            }
+            index -= base;
+        }
+        return new Position(node, index);
+    }
+
+
+    /**
+     * Removes the element at {@code position} of {@code node}, then unlinks the node if it became
+     * empty, or merges its successor into it if it is less than half full and both fit.
+     * @param node a node of this list
+     * @param position an index inside the node
+     * @return the removed element
+     */
+    private T removeFrom(Node node, int position) {
+        T data = (T) node.elements[position];
+        System.arraycopy(node.elements, position + 1, node.elements, position, node.count - position - 1);
+        node.elements[--node.count] = null;     //clear the vacated slot so it can be garbage collected
+        size--;
+        modCount++;
+
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < nodeCapacity / 2 && node.next != null && node.count + node.next.count <= nodeCapacity) {
+            Node successor = node.next;     //merge successor into node
+            System.arraycopy(successor.elements, 0, node.elements, node.count, successor.count);
+            node.count += successor.count;
+            unlink(successor);
+        }
+        return data;
+    }
+
+
+    /**
+     * Links {@code node} after {@code predecessor}, or as the new head if {@code predecessor} is {@code null}.
+     * @param predecessor the node to link after, or {@code null}
+     * @param node the new node
+     */
+    private void linkAfter(Node predecessor, Node node) {
+        Node successor = predecessor == null ? head : predecessor.next;
+        node.prev = predecessor;
+        node.next = successor;
+
+        if (predecessor == null) head = node;
+        else predecessor.next = node;
+        if (successor == null) tail = node;
+        else successor.prev = node;
+    }
+
+
+    /**
+     * Unlinks {@code node} from the list.
+     * @param node a node of this list
+     */
+    private void unlink(Node node) {
+        if (node.prev == null) head = node.next;
+        else node.prev.next = node.next;
+        if (node.next == null) tail = node.prev;
+        else node.next.prev = node.prev;
+        node.prev = node.next = null;
+    }
+
+
+
+    /**
+     * A node of this list and an index inside it, as found by {@code positionOf()}.
+     */
+    private final class Position {
+        final Node node;
+        final int offset;
+
+        Position(Node node, int offset) {
+            this.node = node;
+            this.offset = offset;
+        }
+    }
+
+
+    /**
+     * Private inner class defining Node behavior.
+     * Each node holds up to {@code nodeCapacity} elements in {@code elements[0, count)} and
+     * references to the previous and the next node.
+     */
+    private class Node {
+        final Object[] elements = new Object[nodeCapacity];
+        int count;  //no. of elements used
+        Node prev;
+        Node next;
+
+        /**
+         * Inserts {@code data} at {@code position}, shifting the elements after it to the right.
+         * The node must not be full.
+         * @param position an index between 0 and count
+         * @param data the value to insert
+         */
+        void insertAt(int position, T data) {
+            System.arraycopy(elements, position, elements, position + 1, count - position);
+            elements[position] = data;
+            count++;
+        }
+
+    }
+
+}